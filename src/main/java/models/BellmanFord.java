@@ -0,0 +1,253 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shortest paths accepting negative weights, with negative cycle detection.
+ * The sequential search is the queue based Bellman-Ford (SPFA): only vertices whose distance dropped are
+ * queued again, a bitmap tells which ones are already queued, and it stops as soon as the queue empties.
+ * A path growing to V arcs can only come from a negative cycle, which is then extracted from the parents.
+ * The parallel search relaxes every arc in rounds split in chunks over the flat arc arrays, lowering the
+ * distances with compare-and-set, and stops at the first round that changes nothing.
+ */
+public class BellmanFord {
+    final CompressedSparseRow adjacency;
+    private final long[] distance;
+    private final int[] parent;
+    private final int[] length;  // number of arcs of the current path to each vertice
+    private final int[] queue;   // circular, each vertice is at most once inside
+    private final long[] queued; // bitmap of the vertices inside the queue
+    private int[] arcSources;    // source vertice of each arc, built for the parallel search
+    private int[] negativeCycle = new int[0];
+
+    public BellmanFord(CompressedSparseRow adjacency) {
+        this.adjacency = adjacency;
+        int n = adjacency.verticesNumber;
+        this.distance = new long[n];
+        this.parent = new int[n];
+        this.length = new int[n];
+        this.queue = new int[Math.max(n, 1)];
+        this.queued = new long[(n + 63) >>> 6];
+    }
+
+    /**
+     * Computes the shortest paths from the source
+     *
+     * @param source vertice index where the paths start, -1 to start from every vertice at distance 0,
+     *               which finds any negative cycle of the graph
+     * @return false when a negative cycle can be reached, see {@link #getNegativeCycle()}
+     */
+    public boolean run(int source) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets, weights = adjacency.weights;
+        Arrays.fill(distance, Dijkstra.UNREACHABLE);
+        Arrays.fill(parent, -1);
+        Arrays.fill(queued, 0);
+        negativeCycle = new int[0];
+
+        int head = 0, size = 0;
+        for (int v = source == -1 ? 0 : source; v < (source == -1 ? n : source + 1); v++) {
+            distance[v] = 0;
+            length[v] = 0;
+            queue[size++] = v;
+            queued[v >>> 6] |= 1L << v;
+        }
+
+        while (size > 0) {
+            int u = queue[head];
+            head = head + 1 == queue.length ? 0 : head + 1;
+            size--;
+            queued[u >>> 6] &= ~(1L << u);
+
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                long candidate = distance[u] + weights[arc];
+                if (candidate >= distance[v])
+                    continue;
+                distance[v] = candidate;
+                parent[v] = u;
+                length[v] = length[u] + 1;
+                // a path of V arcs repeats a vertice, the parents then hold a negative cycle
+                if (length[v] >= n && (negativeCycle = extractCycle(v)).length > 0)
+                    return false;
+                if ((queued[v >>> 6] & (1L << v)) == 0) {
+                    int tail = head + size;
+                    queue[tail >= queue.length ? tail - queue.length : tail] = v;
+                    size++;
+                    queued[v >>> 6] |= 1L << v;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the shortest paths from the source relaxing the arcs in parallel rounds.
+     * When a negative cycle is found the sequential search runs to extract it
+     *
+     * @param source      vertice index where the paths start, -1 to start from every vertice at distance 0
+     * @param parallelism number of threads
+     * @return false when a negative cycle can be reached, see {@link #getNegativeCycle()}
+     */
+    public boolean runParallel(int source, int parallelism) {
+        int n = adjacency.verticesNumber;
+        int[] targets = adjacency.targets, weights = adjacency.weights;
+        int arcsNumber = targets.length;
+        if (arcSources == null) {
+            arcSources = new int[arcsNumber];
+            for (int u = 0; u < n; u++)
+                Arrays.fill(arcSources, adjacency.offsets[u], adjacency.offsets[u + 1], u);
+        }
+        int[] sources = arcSources;
+        AtomicLongArray shared = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++)
+            shared.set(v, source == -1 || v == source ? 0 : Dijkstra.UNREACHABLE);
+
+        List<Callable<Boolean>> chunks = new ArrayList<>();
+        for (int chunk = 0; chunk < parallelism; chunk++) {
+            int from = (int) ((long) arcsNumber * chunk / parallelism);
+            int to = (int) ((long) arcsNumber * (chunk + 1) / parallelism);
+            chunks.add(() -> {
+                boolean changed = false;
+                for (int arc = from; arc < to; arc++) {
+                    long base = shared.get(sources[arc]);
+                    if (base == Dijkstra.UNREACHABLE)
+                        continue;
+                    long candidate = base + weights[arc];
+                    long current = shared.get(targets[arc]);
+                    while (candidate < current) {
+                        if (shared.compareAndSet(targets[arc], current, candidate)) {
+                            changed = true;
+                            break;
+                        }
+                        current = shared.get(targets[arc]);
+                    }
+                }
+                return changed;
+            });
+        }
+
+        // without negative cycles every distance is final after V - 1 rounds
+        boolean changed = true;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int round = 0; changed && round < n; round++) {
+                changed = false;
+                for (Future<Boolean> chunk : pool.invokeAll(chunks))
+                    changed |= chunk.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            pool.shutdown();
+        }
+        if (changed)
+            return run(source);
+
+        for (int v = 0; v < n; v++)
+            distance[v] = shared.get(v);
+        shortestPathTree(source);
+        negativeCycle = new int[0];
+        return true;
+    }
+
+    // parents from a breadth-first walk over the tight arcs, which can not loop even with zero weight cycles
+    private void shortestPathTree(int source) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets, weights = adjacency.weights;
+        Arrays.fill(parent, -1);
+        Arrays.fill(queued, 0);
+        int tail = 0;
+        for (int v = source == -1 ? 0 : source; v < (source == -1 ? n : source + 1); v++) {
+            // starting from every vertice, shortest paths start at vertices that kept distance 0
+            if (distance[v] == 0) {
+                queue[tail++] = v;
+                queued[v >>> 6] |= 1L << v;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                if ((queued[v >>> 6] & (1L << v)) == 0 && distance[u] + weights[arc] == distance[v]) {
+                    parent[v] = u;
+                    queue[tail++] = v;
+                    queued[v >>> 6] |= 1L << v;
+                }
+            }
+        }
+    }
+
+    // follows the parents from the vertice until one repeats, the repeated part is the cycle
+    private int[] extractCycle(int v) {
+        boolean[] seen = new boolean[adjacency.verticesNumber];
+        while (v != -1 && !seen[v]) {
+            seen[v] = true;
+            v = parent[v];
+        }
+        if (v == -1)
+            return new int[0];
+        int cycleLength = 1;
+        for (int u = parent[v]; u != v; u = parent[u])
+            cycleLength++;
+        int[] cycle = new int[cycleLength];
+        int u = v;
+        for (int i = cycleLength - 1; i >= 0; i--, u = parent[u])
+            cycle[i] = u;
+        return cycle;
+    }
+
+    /**
+     * Returns the distance found by the last search
+     *
+     * @param v vertice index
+     * @return the distance, or Dijkstra.UNREACHABLE when the vertice was not reached
+     */
+    public long getDistance(int v) {
+        return distance[v];
+    }
+
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * Rebuilds the shortest path found by the last search
+     *
+     * @param target vertice index where the path ends
+     * @return the vertice indexes from the source to the target, empty when the target was not reached
+     */
+    public int[] getPath(int target) {
+        if (distance[target] == Dijkstra.UNREACHABLE)
+            return new int[0];
+        int pathLength = 1;
+        for (int v = target; parent[v] != -1; v = parent[v])
+            pathLength++;
+        int[] path = new int[pathLength];
+        for (int v = target; pathLength > 0; v = parent[v])
+            path[--pathLength] = v;
+        return path;
+    }
+
+    /**
+     * Returns the negative cycle found by the last search
+     *
+     * @return the vertice indexes of the cycle in arc order, the last one pointing back to the first,
+     * empty when there was none
+     */
+    public int[] getNegativeCycle() {
+        return negativeCycle.clone();
+    }
+}
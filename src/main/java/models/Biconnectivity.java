@@ -0,0 +1,102 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Finds the articulation points (cut vertices) and bridges of a non-directed graph in a single
+ * iterative depth-first pass, using Hopcroft-Tarjan low-links. Parallel edges are told apart by their
+ * edge id, so an edge doubled by a parallel one is never reported as a bridge.
+ */
+public class Biconnectivity {
+    final boolean[] articulationPoints;
+    final int[] bridges; // edge ids
+    final int articulationPointsNumber;
+
+    /**
+     * Runs the search over every component of the adjacency
+     *
+     * @param adjacency non-directed adjacency
+     */
+    public Biconnectivity(CompressedSparseRow adjacency) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets, edgeIds = adjacency.edgeIds;
+
+        int[] discovery = new int[n]; // 0 means not discovered yet
+        int[] low = new int[n];
+        int[] parentEdge = new int[n];
+        int[] cursor = new int[n];
+        int[] stack = new int[n];
+        int[] bridges = new int[Math.max(n - 1, 0)];
+        int bridgesNumber = 0;
+        this.articulationPoints = new boolean[n];
+
+        int time = 0;
+        for (int root = 0; root < n; root++) {
+            if (discovery[root] != 0)
+                continue;
+            int top = 0, rootChildren = 0;
+            discovery[root] = low[root] = ++time;
+            parentEdge[root] = -1;
+            cursor[root] = offsets[root];
+            stack[top++] = root;
+
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (cursor[v] < offsets[v + 1]) {
+                    int arc = cursor[v]++;
+                    int to = targets[arc];
+                    if (edgeIds[arc] == parentEdge[v])
+                        continue; // do not go back through the edge used to reach v
+                    if (discovery[to] == 0) {
+                        discovery[to] = low[to] = ++time;
+                        parentEdge[to] = edgeIds[arc];
+                        cursor[to] = offsets[to];
+                        stack[top++] = to;
+                        if (v == root)
+                            rootChildren++;
+                    } else {
+                        low[v] = Math.min(low[v], discovery[to]);
+                    }
+                } else {
+                    top--;
+                    if (top > 0) {
+                        int parent = stack[top - 1];
+                        low[parent] = Math.min(low[parent], low[v]);
+                        // v's subtree can not reach above its parent without it
+                        if (parent != root && low[v] >= discovery[parent])
+                            articulationPoints[parent] = true;
+                        if (low[v] > discovery[parent])
+                            bridges[bridgesNumber++] = parentEdge[v];
+                    }
+                }
+            }
+            // the root is only a cut vertice when it has more than one depth-first child
+            if (rootChildren > 1)
+                articulationPoints[root] = true;
+        }
+
+        int count = 0;
+        for (boolean articulationPoint : articulationPoints)
+            if (articulationPoint)
+                count++;
+        this.articulationPointsNumber = count;
+        this.bridges = Arrays.copyOf(bridges, bridgesNumber);
+    }
+
+    public boolean isArticulationPoint(int v) {
+        return articulationPoints[v];
+    }
+
+    public int getArticulationPointsNumber() {
+        return articulationPointsNumber;
+    }
+
+    /**
+     * Returns the ids of the edges that are bridges, in the order they were found
+     *
+     * @return the bridge edge ids
+     */
+    public int[] getBridges() {
+        return bridges.clone();
+    }
+}
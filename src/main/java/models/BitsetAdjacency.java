@@ -0,0 +1,125 @@
+package models;
+
+/**
+ * Adjacency matrix packed in bits, one row of 64-bit words for each vertice, so a row is read or inverted
+ * a whole word at a time. It takes V * V / 8 bytes, which suits dense graphs and their complements.
+ * A complement is only a view over the same words: it inverts them while reading and never stores its
+ * edges, which matters when the graph is nearly complete and its complement nearly empty or the other way.
+ * The whole matrix lives in one long array, which limits it to {@value #MAX_VERTICES} vertices
+ */
+public class BitsetAdjacency {
+    // biggest V where V rows of (V + 63) / 64 words fit in a Java array
+    static final int MAX_VERTICES = 370_703;
+
+    final int verticesNumber;
+    final int wordsPerRow;
+    final long[] bits;        // row u holds bit v when there is an arc from u to v
+    final boolean complement; // if the words are read inverted, without loops
+
+    private BitsetAdjacency(int verticesNumber, long[] bits, boolean complement) {
+        this.verticesNumber = verticesNumber;
+        this.wordsPerRow = (verticesNumber + 63) >>> 6;
+        this.bits = bits;
+        this.complement = complement;
+    }
+
+    /**
+     * Creates the bit matrix of a compressed adjacency, parallel arcs are kept only once
+     *
+     * @param adjacency adjacency of the graph
+     * @return the bit matrix
+     * @throws IllegalArgumentException if the graph has more than {@value #MAX_VERTICES} vertices
+     */
+    static BitsetAdjacency of(CompressedSparseRow adjacency) {
+        int n = adjacency.verticesNumber;
+        if (n > MAX_VERTICES)
+            throw new IllegalArgumentException("A bit matrix holds at most " + MAX_VERTICES
+                    + " vertices, the graph has " + n);
+        int wordsPerRow = (n + 63) >>> 6;
+        long[] bits = new long[n * wordsPerRow];
+        for (int u = 0; u < n; u++)
+            for (int arc = adjacency.offsets[u]; arc < adjacency.offsets[u + 1]; arc++) {
+                int v = adjacency.targets[arc];
+                bits[u * wordsPerRow + (v >>> 6)] |= 1L << v;
+            }
+        return new BitsetAdjacency(n, bits, false);
+    }
+
+    /**
+     * Returns the complement, linking every two distinct vertices that are not linked here.
+     * It shares the words of this matrix and is built in constant time
+     *
+     * @return the complement view
+     */
+    public BitsetAdjacency complement() {
+        return new BitsetAdjacency(verticesNumber, bits, !complement);
+    }
+
+    /**
+     * Returns a word of the row as this view sees it
+     *
+     * @param u    vertice index of the row
+     * @param word word index inside the row
+     * @return the arcs from u to the vertices word * 64 to word * 64 + 63
+     */
+    long word(int u, int word) {
+        long value = bits[u * wordsPerRow + word];
+        if (!complement)
+            return value;
+        value = ~value;
+        // no loop, and no vertice past the last one
+        if (word == u >>> 6)
+            value &= ~(1L << u);
+        if (word == wordsPerRow - 1 && (verticesNumber & 63) != 0)
+            value &= -1L >>> (64 - (verticesNumber & 63));
+        return value;
+    }
+
+    /**
+     * Returns if there is an arc from u to v
+     *
+     * @param u first vertice index
+     * @param v second vertice index
+     * @return if the arc exists
+     */
+    public boolean hasArc(int u, int v) {
+        return (word(u, v >>> 6) & (1L << v)) != 0;
+    }
+
+    /**
+     * Returns the first vertice at or after the given one with an arc from u
+     *
+     * @param u    vertice index
+     * @param from first vertice index to look at
+     * @return the vertice index, or -1 if there is none
+     */
+    public int nextNeighbour(int u, int from) {
+        if (from >= verticesNumber)
+            return -1;
+        int word = from >>> 6;
+        long value = word(u, word) & (-1L << from);
+        while (value == 0) {
+            if (++word == wordsPerRow)
+                return -1;
+            value = word(u, word);
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(value);
+    }
+
+    /**
+     * Returns the number of distinct vertices with an arc from u, a loop counts once
+     *
+     * @param u vertice index
+     * @return the number of neighbours
+     */
+    public int degree(int u) {
+        int degree = 0;
+        for (int word = 0; word < wordsPerRow; word++)
+            degree += Long.bitCount(word(u, word));
+        return degree;
+    }
+
+    public int getVerticesNumber() {
+        return verticesNumber;
+    }
+}
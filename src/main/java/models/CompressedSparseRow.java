@@ -0,0 +1,186 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Compressed sparse row (CSR) adjacency. The arcs leaving the vertice at index i are stored from
+ * offsets[i] (inclusive) to offsets[i + 1] (exclusive) in the targets, weights and edgeIds arrays.
+ * Non-directed edges are stored once in each direction, loops only once.
+ */
+public class CompressedSparseRow {
+    final int verticesNumber;
+    final int[] offsets;
+    final int[] targets;
+    final int[] weights;
+    final int[] edgeIds; // index of the edge each arc came from
+
+    /**
+     * Builds the adjacency from primitive edge arrays
+     *
+     * @param verticesNumber number of vertices, indexes go from 0 to verticesNumber - 1
+     * @param sources        first vertice index of each edge
+     * @param destinations   second vertice index of each edge
+     * @param weights        weight of each edge
+     * @param edgesNumber    how many positions of the arrays are used
+     * @param directed       if the edges only go from source to destination
+     */
+    CompressedSparseRow(int verticesNumber, int[] sources, int[] destinations, int[] weights,
+                        int edgesNumber, boolean directed) {
+        this.verticesNumber = verticesNumber;
+        this.offsets = new int[verticesNumber + 1];
+
+        // count arcs leaving each vertice
+        for (int e = 0; e < edgesNumber; e++) {
+            offsets[sources[e] + 1]++;
+            if (!directed && sources[e] != destinations[e])
+                offsets[destinations[e] + 1]++;
+        }
+        for (int v = 0; v < verticesNumber; v++)
+            offsets[v + 1] += offsets[v];
+
+        int arcsNumber = offsets[verticesNumber];
+        this.targets = new int[arcsNumber];
+        this.weights = new int[arcsNumber];
+        this.edgeIds = new int[arcsNumber];
+
+        // fill each row using a moving cursor, preserving edge order inside the row
+        int[] cursor = new int[verticesNumber];
+        System.arraycopy(offsets, 0, cursor, 0, verticesNumber);
+        for (int e = 0; e < edgesNumber; e++) {
+            int u = sources[e], v = destinations[e];
+            int arc = cursor[u]++;
+            targets[arc] = v;
+            this.weights[arc] = weights[e];
+            edgeIds[arc] = e;
+            if (!directed && u != v) {
+                arc = cursor[v]++;
+                targets[arc] = u;
+                this.weights[arc] = weights[e];
+                edgeIds[arc] = e;
+            }
+        }
+    }
+
+    /**
+     * Wraps already built arrays, used when loading a snapshot or transposing
+     *
+     * @param offsets start of the arcs of each vertice, with one extra position holding the number of arcs
+     * @param targets vertice each arc points to
+     * @param weights weight of each arc
+     * @param edgeIds edge each arc came from
+     */
+    CompressedSparseRow(int[] offsets, int[] targets, int[] weights, int[] edgeIds) {
+        this.verticesNumber = offsets.length - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+    }
+
+    /**
+     * Builds the adjacency from an edge list
+     *
+     * @param vertexIndex dense index of each vertice
+     * @param edges       edges of the graph
+     * @param directed    if the edge direction should be kept
+     * @return the adjacency
+     */
+    static CompressedSparseRow fromEdges(VertexIndex vertexIndex, EdgeList<?> edges, boolean directed) {
+        int[] sources = new int[edges.size()];
+        int[] destinations = new int[edges.size()];
+        int[] weights = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            sources[e] = vertexIndex.indexOf(edges.firstId(e));
+            destinations[e] = vertexIndex.indexOf(edges.secondId(e));
+            weights[e] = edges.weight(e);
+        }
+        return new CompressedSparseRow(vertexIndex.size(), sources, destinations, weights, edges.size(), directed);
+    }
+
+    /**
+     * Returns the number of arcs leaving the vertice
+     *
+     * @param v vertice index
+     * @return the number of arcs
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Returns if there is an arc from u to v
+     *
+     * @param u first vertice index
+     * @param v second vertice index
+     * @return if the arc exists
+     */
+    public boolean hasArc(int u, int v) {
+        for (int arc = offsets[u]; arc < offsets[u + 1]; arc++)
+            if (targets[arc] == v)
+                return true;
+        return false;
+    }
+
+    /**
+     * Returns the number of arcs pointing to the vertice
+     *
+     * @param v vertice index
+     * @return the number of arcs
+     */
+    public int entryDegree(int v) {
+        int count = 0;
+        for (int target : targets)
+            if (target == v)
+                count++;
+        return count;
+    }
+
+    /**
+     * Builds the adjacency with every arc reversed, so the arcs of each vertice are the ones reaching it.
+     * A non-directed adjacency is its own transpose
+     *
+     * @return the transposed adjacency, keeping the edge id of each arc
+     */
+    public CompressedSparseRow transpose() {
+        int[] reversedOffsets = new int[verticesNumber + 1];
+        for (int target : targets)
+            reversedOffsets[target + 1]++;
+        for (int v = 0; v < verticesNumber; v++)
+            reversedOffsets[v + 1] += reversedOffsets[v];
+
+        int[] reversedTargets = new int[targets.length];
+        int[] reversedWeights = new int[targets.length];
+        int[] reversedEdgeIds = new int[targets.length];
+        int[] cursor = Arrays.copyOf(reversedOffsets, verticesNumber);
+        for (int u = 0; u < verticesNumber; u++) {
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int reversed = cursor[targets[arc]]++;
+                reversedTargets[reversed] = u;
+                reversedWeights[reversed] = weights[arc];
+                reversedEdgeIds[reversed] = edgeIds[arc];
+            }
+        }
+        return new CompressedSparseRow(reversedOffsets, reversedTargets, reversedWeights, reversedEdgeIds);
+    }
+
+    public int getVerticesNumber() {
+        return verticesNumber;
+    }
+
+    public int getArcsNumber() {
+        return targets.length;
+    }
+
+    /**
+     * Builds a dense adjacency matrix from this adjacency, only viable for small graphs
+     *
+     * @return matrix where [u][v] holds the weight of the arc from u to v, 0 if there is none
+     */
+    int[][] toMatrix() {
+        int[][] matrix = new int[verticesNumber][verticesNumber];
+        for (int u = 0; u < verticesNumber; u++)
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++)
+                matrix[u][targets[arc]] = weights[arc];
+        return matrix;
+    }
+}
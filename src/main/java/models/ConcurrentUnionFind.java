@@ -0,0 +1,75 @@
+package models;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint sets of vertice indexes, safe to use from several threads at once.
+ * Roots are linked with a compare-and-set, always the bigger index under the smaller one, so
+ * concurrent unions can never build a cycle. Finds halve the path they walk.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Creates one set for each vertice index from 0 to n - 1
+     *
+     * @param n number of vertices
+     */
+    public ConcurrentUnionFind(int n) {
+        this.parent = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++)
+            parent.set(v, v);
+    }
+
+    /**
+     * Returns the current root of the set holding the vertice
+     *
+     * @param v vertice index
+     * @return the root vertice index
+     */
+    public int find(int v) {
+        while (true) {
+            int p = parent.get(v);
+            if (p == v)
+                return v;
+            int grandParent = parent.get(p);
+            if (p != grandParent)
+                parent.compareAndSet(v, p, grandParent); // losing this race only skips the shortcut
+            v = grandParent;
+        }
+    }
+
+    /**
+     * Joins the sets of both vertices
+     *
+     * @param u first vertice index
+     * @param v second vertice index
+     * @return false if they were already in the same set
+     */
+    public boolean union(int u, int v) {
+        while (true) {
+            int x = find(u), y = find(v);
+            if (x == y)
+                return false;
+            if (x < y) {
+                int swap = x;
+                x = y;
+                y = swap;
+            }
+            // retry when another thread linked x meanwhile
+            if (parent.compareAndSet(x, x, y))
+                return true;
+        }
+    }
+
+    /**
+     * Returns if both vertices are in the same set, only reliable when no union is running
+     *
+     * @param u first vertice index
+     * @param v second vertice index
+     * @return if they are in the same set
+     */
+    public boolean connected(int u, int v) {
+        return find(u) == find(v);
+    }
+}
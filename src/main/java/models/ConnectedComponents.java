@@ -0,0 +1,155 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Connected components of a non-directed adjacency, labeled on several threads with the Afforest
+ * approach over a lock-free union-find: every vertice is first linked to its first neighbours, which
+ * already joins most of the biggest component, then a sample finds that component and only the vertices
+ * outside it link their remaining arcs. Since every edge is stored in both directions, the arcs skipped
+ * this way are still seen from their other end.
+ * Components are numbered in the order of their smallest vertice.
+ */
+public class ConnectedComponents {
+    // neighbours linked before sampling, two are enough to join most of a big component
+    private static final int NEIGHBOUR_ROUNDS = 2;
+    private static final int SAMPLES = 1024;
+
+    final int[] components;
+    final int[] componentSizes;
+
+    /**
+     * Labels the components
+     *
+     * @param adjacency   non-directed adjacency
+     * @param parallelism number of threads
+     */
+    public ConnectedComponents(CompressedSparseRow adjacency, int parallelism) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        int[] roots = new int[n];
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int round = 0; round < NEIGHBOUR_ROUNDS; round++) {
+                int neighbour = round;
+                forEachChunk(pool, parallelism, n, (from, to) -> {
+                    for (int v = from; v < to; v++)
+                        if (offsets[v] + neighbour < offsets[v + 1])
+                            sets.union(v, targets[offsets[v] + neighbour]);
+                });
+            }
+
+            int largest = n == 0 ? -1 : largestSampled(sets, n);
+            forEachChunk(pool, parallelism, n, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    if (sets.find(v) == largest)
+                        continue;
+                    for (int arc = offsets[v] + NEIGHBOUR_ROUNDS; arc < offsets[v + 1]; arc++)
+                        sets.union(v, targets[arc]);
+                }
+            });
+
+            // no union is running anymore, so the roots are final
+            forEachChunk(pool, parallelism, n, (from, to) -> {
+                for (int v = from; v < to; v++)
+                    roots[v] = sets.find(v);
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        // roots are the smallest vertice of their component, since unions link under the smaller root
+        this.components = new int[n];
+        int componentsNumber = 0;
+        for (int v = 0; v < n; v++)
+            components[v] = roots[v] == v ? componentsNumber++ : components[roots[v]];
+        this.componentSizes = new int[componentsNumber];
+        for (int component : components)
+            componentSizes[component]++;
+    }
+
+    // most frequent root among random vertices, most likely the root of the biggest component
+    private static int largestSampled(ConcurrentUnionFind sets, int n) {
+        Random random = new Random(n);
+        int[] samples = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++)
+            samples[i] = sets.find(random.nextInt(n));
+        Arrays.sort(samples);
+        int best = samples[0], bestCount = 0;
+        for (int i = 0; i < SAMPLES; ) {
+            int j = i;
+            while (j < SAMPLES && samples[j] == samples[i])
+                j++;
+            if (j - i > bestCount) {
+                best = samples[i];
+                bestCount = j - i;
+            }
+            i = j;
+        }
+        return best;
+    }
+
+    private interface Range {
+        void run(int from, int to);
+    }
+
+    // splits the vertices in one chunk for each thread and waits for all of them
+    private static void forEachChunk(ForkJoinPool pool, int parallelism, int n, Range range) {
+        List<Callable<Void>> chunks = new ArrayList<>();
+        for (int chunk = 0; chunk < parallelism; chunk++) {
+            int from = (int) ((long) n * chunk / parallelism);
+            int to = (int) ((long) n * (chunk + 1) / parallelism);
+            chunks.add(() -> {
+                range.run(from, to);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> chunk : pool.invokeAll(chunks))
+                chunk.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getComponentsNumber() {
+        return componentSizes.length;
+    }
+
+    /**
+     * Returns the component holding the vertice
+     *
+     * @param v vertice index
+     * @return the component id, numbered in the order of their smallest vertice
+     */
+    public int getComponent(int v) {
+        return components[v];
+    }
+
+    public int getComponentSize(int component) {
+        return componentSizes[component];
+    }
+
+    // the arrays below are returned without copying, they must not be modified
+    public int[] getComponents() {
+        return components;
+    }
+
+    public int[] getComponentSizes() {
+        return componentSizes;
+    }
+}
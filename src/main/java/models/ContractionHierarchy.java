@@ -0,0 +1,637 @@
+package models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Contraction hierarchy for fast point-to-point shortest path queries.
+ * Preprocessing contracts the vertices one by one, least important first (ordered by edge difference and
+ * contracted neighbours, with lazy updates), adding a shortcut between two neighbours whenever a bounded
+ * witness search finds no path as short as the one through the contracted vertice.
+ * Queries then run a bidirectional Dijkstra search that only climbs to more important vertices, which
+ * settles a tiny part of the graph, and shortcuts are unpacked back into original arcs.
+ * The hierarchy can be saved next to the graph and loaded back without preprocessing again.
+ */
+public class ContractionHierarchy {
+    static final int MAGIC = 0x43484945; // "CHIE"
+    static final int VERSION = 1;
+    static final int CHECKSUM = 2;
+
+    private static final int HEADER_INTS = 6;
+    // witness searches give up after settling this many vertices, adding a shortcut that may be useless.
+    // Priorities only estimate the shortcuts, so their searches stop much earlier
+    private static final int WITNESS_SETTLED_LIMIT = 100;
+    private static final int ESTIMATE_SETTLED_LIMIT = 20;
+
+    final int[] rank;               // contraction order of each vertice
+    final CompressedSparseRow up;   // arcs u -> v with rank[v] > rank[u]
+    final int[] upMiddles;          // contracted vertice each shortcut skips, -1 for original arcs
+    final CompressedSparseRow down; // arcs u -> v with rank[u] > rank[v], stored at v pointing to u
+    final int[] downMiddles;
+
+    private final Search forward;
+    private final Search backward;
+    private int settledNumber;
+    private int relaxedNumber;
+
+    private ContractionHierarchy(int[] rank, CompressedSparseRow up, int[] upMiddles, CompressedSparseRow down,
+                                 int[] downMiddles) {
+        this.rank = rank;
+        this.up = up;
+        this.upMiddles = upMiddles;
+        this.down = down;
+        this.downMiddles = downMiddles;
+        this.forward = new Search(up);
+        this.backward = new Search(down);
+    }
+
+    /**
+     * Preprocesses the adjacency
+     *
+     * @param adjacency adjacency of the graph, arcs must not have negative weights
+     * @return the hierarchy, edge ids of its original arcs are the ones of the adjacency
+     * @throws IllegalArgumentException if a weight is negative or a shortcut would weigh more than an int holds
+     */
+    public static ContractionHierarchy build(CompressedSparseRow adjacency) {
+        for (int weight : adjacency.weights)
+            if (weight < 0)
+                throw new IllegalArgumentException("Contraction hierarchies do not accept negative weights");
+        return new Contraction(adjacency).run();
+    }
+
+    /**
+     * Returns the length of the shortest path between two vertices
+     *
+     * @param source first vertice index
+     * @param target last vertice index
+     * @return the distance, or Dijkstra.UNREACHABLE
+     */
+    public long getDistance(int source, int target) {
+        int meeting = search(source, target);
+        return meeting == -1 ? Dijkstra.UNREACHABLE : forward.getDistance(meeting) + backward.getDistance(meeting);
+    }
+
+    /**
+     * Finds the shortest path between two vertices, with its shortcuts unpacked into original arcs
+     *
+     * @param source first vertice index
+     * @param target last vertice index
+     * @return the path and the search statistics, which only count the upward searches
+     */
+    public PathResult query(int source, int target) {
+        int meeting = search(source, target);
+        if (meeting == -1)
+            return new PathResult(new int[0], Dijkstra.UNREACHABLE, settledNumber, relaxedNumber);
+        long distance = forward.getDistance(meeting) + backward.getDistance(meeting);
+
+        // arcs of the upward path from the source, then of the upward path from the target walked backwards
+        int hops = 0;
+        for (int v = meeting; forward.parent[v] != -1; v = forward.parent[v])
+            hops++;
+        for (int v = meeting; backward.parent[v] != -1; v = backward.parent[v])
+            hops++;
+        int[] from = new int[hops], to = new int[hops], middles = new int[hops];
+        int i = 0;
+        for (int v = meeting; forward.parent[v] != -1; v = forward.parent[v], i++) {
+            from[i] = forward.parent[v];
+            to[i] = v;
+            middles[i] = upMiddles[forward.parentArc[v]];
+        }
+        reverse(from, i);
+        reverse(to, i);
+        reverse(middles, i);
+        for (int v = meeting; backward.parent[v] != -1; v = backward.parent[v], i++) {
+            from[i] = v;
+            to[i] = backward.parent[v];
+            middles[i] = downMiddles[backward.parentArc[v]];
+        }
+
+        int[] path = new int[16];
+        int length = 0;
+        path[length++] = source;
+        // unpack every shortcut with an explicit stack, replacing u -> w by u -> middle -> w
+        int[] stack = new int[48];
+        for (int arc = 0; arc < hops; arc++) {
+            int top = 0;
+            stack[top++] = from[arc];
+            stack[top++] = to[arc];
+            stack[top++] = middles[arc];
+            while (top > 0) {
+                int middle = stack[--top], w = stack[--top], u = stack[--top];
+                if (middle == -1) {
+                    if (length == path.length)
+                        path = Arrays.copyOf(path, length * 2);
+                    path[length++] = w;
+                    continue;
+                }
+                if (top + 6 > stack.length)
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                // the second half is pushed first so the first half is unpacked first
+                stack[top++] = middle;
+                stack[top++] = w;
+                stack[top++] = middleOf(middle, w);
+                stack[top++] = u;
+                stack[top++] = middle;
+                stack[top++] = middleOf(u, middle);
+            }
+        }
+        return new PathResult(Arrays.copyOf(path, length), distance, settledNumber, relaxedNumber);
+    }
+
+    // middle vertice of the arc u -> v of the hierarchy, stored at the least important of both
+    private int middleOf(int u, int v) {
+        if (rank[u] < rank[v]) {
+            for (int arc = up.offsets[u]; arc < up.offsets[u + 1]; arc++)
+                if (up.targets[arc] == v)
+                    return upMiddles[arc];
+        } else {
+            for (int arc = down.offsets[v]; arc < down.offsets[v + 1]; arc++)
+                if (down.targets[arc] == u)
+                    return downMiddles[arc];
+        }
+        throw new IllegalStateException("Missing hierarchy arc " + u + " -> " + v);
+    }
+
+    private static void reverse(int[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    /**
+     * Upward bidirectional search, each direction stops once its next distance reaches the best path found
+     *
+     * @return the vertice where the shortest path changes direction, -1 when there is no path
+     */
+    private int search(int source, int target) {
+        settledNumber = relaxedNumber = 0;
+        forward.start(source);
+        backward.start(target);
+        long best = Dijkstra.UNREACHABLE;
+        int meeting = -1;
+
+        while (true) {
+            boolean forwardOpen = !forward.heap.isEmpty() && forward.heap.getKey(forward.heap.peek()) < best;
+            boolean backwardOpen = !backward.heap.isEmpty() && backward.heap.getKey(backward.heap.peek()) < best;
+            if (!forwardOpen && !backwardOpen)
+                return meeting;
+            Search side = !backwardOpen || (forwardOpen
+                    && forward.heap.getKey(forward.heap.peek()) <= backward.heap.getKey(backward.heap.peek()))
+                    ? forward : backward;
+            Search other = side == forward ? backward : forward;
+
+            int u = side.heap.poll();
+            settledNumber++;
+            long otherDistance = other.getDistance(u);
+            if (otherDistance != Dijkstra.UNREACHABLE && side.distance[u] + otherDistance < best) {
+                best = side.distance[u] + otherDistance;
+                meeting = u;
+            }
+            relaxedNumber += side.relax(u);
+        }
+    }
+
+    public int getVerticesNumber() {
+        return rank.length;
+    }
+
+    /**
+     * Returns the number of shortcuts added by the preprocessing
+     *
+     * @return the number of shortcuts
+     */
+    public int getShortcutsNumber() {
+        int count = 0;
+        for (int middle : upMiddles)
+            if (middle != -1)
+                count++;
+        for (int middle : downMiddles)
+            if (middle != -1)
+                count++;
+        return count;
+    }
+
+    public int getRank(int v) {
+        return rank[v];
+    }
+
+    /**
+     * Saves the hierarchy. Every value is a big endian int, laid out as:
+     * <pre>
+     * magic, version, flags, vertices V, upward arcs U, downward arcs D
+     * rank[V]
+     * upward offsets[V + 1], targets[U], weights[U], edge ids[U], middles[U]
+     * downward offsets[V + 1], targets[D], weights[D], edge ids[D], middles[D]
+     * CRC32 of everything above as a long, only when the checksum flag is set
+     * </pre>
+     *
+     * @param path     hierarchy file
+     * @param checksum if a checksum should be written and verified when loading
+     * @throws IOException if an I/O exception happens
+     */
+    public void save(Path path, boolean checksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            GraphSnapshot.Writer writer = new GraphSnapshot.Writer(channel);
+            writer.writeInts(new int[]{MAGIC, VERSION, checksum ? CHECKSUM : 0, rank.length, up.getArcsNumber(),
+                    down.getArcsNumber()});
+            writer.writeInts(rank);
+            for (CompressedSparseRow arcs : new CompressedSparseRow[]{up, down}) {
+                writer.writeInts(arcs.offsets);
+                writer.writeInts(arcs.targets);
+                writer.writeInts(arcs.weights);
+                writer.writeInts(arcs.edgeIds);
+                writer.writeInts(arcs == up ? upMiddles : downMiddles);
+            }
+            writer.flush();
+            if (checksum) {
+                ByteBuffer crc = ByteBuffer.allocate(Long.BYTES).putLong(writer.crc.getValue()).flip();
+                while (crc.hasRemaining())
+                    channel.write(crc);
+            }
+        }
+    }
+
+    /**
+     * Loads a saved hierarchy
+     *
+     * @param path hierarchy file
+     * @return the hierarchy
+     * @throws IOException if an I/O exception happens or the file is not a valid hierarchy
+     */
+    public static ContractionHierarchy load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_INTS * Integer.BYTES)
+                throw new IOException("Hierarchy file is too small");
+            int[] header = GraphSnapshot.readInts(channel, 0, HEADER_INTS);
+            if (header[0] != MAGIC)
+                throw new IOException("Not a contraction hierarchy");
+            if (header[1] != VERSION)
+                throw new IOException("Unsupported hierarchy version " + header[1]);
+            int n = header[3], upArcs = header[4], downArcs = header[5];
+            if (n < 0 || upArcs < 0 || downArcs < 0)
+                throw new IOException("Hierarchy is corrupted, negative size");
+            long payload = (HEADER_INTS + n + 2L * (n + 1) + 4L * upArcs + 4L * downArcs) * Integer.BYTES;
+            long expected = payload + ((header[2] & CHECKSUM) != 0 ? Long.BYTES : 0);
+            if (channel.size() != expected)
+                throw new IOException("Hierarchy size is " + channel.size() + " bytes, expected " + expected);
+            if ((header[2] & CHECKSUM) != 0)
+                GraphSnapshot.verifyChecksum(channel, payload);
+
+            long position = HEADER_INTS * Integer.BYTES;
+            int[] rank = GraphSnapshot.readInts(channel, position, n);
+            position += (long) n * Integer.BYTES;
+            checkBounds(rank, 0, n, "ranks");
+            boolean[] ranked = new boolean[n];
+            for (int r : rank) {
+                if (ranked[r])
+                    throw new IOException("Hierarchy is corrupted, rank " + r + " is given twice");
+                ranked[r] = true;
+            }
+            CompressedSparseRow[] arcs = new CompressedSparseRow[2];
+            int[][] middles = new int[2][];
+            for (int side = 0; side < 2; side++) {
+                int count = side == 0 ? upArcs : downArcs;
+                int[][] values = new int[5][];
+                for (int array = 0; array < 5; array++) {
+                    int length = array == 0 ? n + 1 : count;
+                    values[array] = GraphSnapshot.readInts(channel, position, length);
+                    position += (long) length * Integer.BYTES;
+                }
+                int[] offsets = values[0];
+                if (offsets[0] != 0 || offsets[n] != count)
+                    throw new IOException("Hierarchy is corrupted, offsets do not cover the arcs");
+                for (int v = 0; v < n; v++)
+                    if (offsets[v] > offsets[v + 1])
+                        throw new IOException("Hierarchy is corrupted, offsets are not sorted");
+                checkBounds(values[1], 0, n, "arc targets");
+                // original arcs keep the id of their edge and shortcuts have none, -1
+                checkBounds(values[3], -1, Integer.MAX_VALUE, "arc edge ids");
+                // shortcuts keep the vertice they skip and original arcs have none, -1
+                checkBounds(values[4], -1, n, "arc middles");
+                arcs[side] = new CompressedSparseRow(offsets, values[1], values[2], values[3]);
+                middles[side] = values[4];
+            }
+            return new ContractionHierarchy(rank, arcs[0], middles[0], arcs[1], middles[1]);
+        }
+    }
+
+    private static void checkBounds(int[] values, int low, int bound, String name) throws IOException {
+        for (int value : values)
+            if (value < low || value >= bound)
+                throw new IOException("Hierarchy is corrupted, " + name + " out of bounds");
+    }
+
+    /**
+     * Reusable buffers of one upward search, stamped with a generation like in {@link Dijkstra}
+     */
+    private static final class Search {
+        final CompressedSparseRow arcs;
+        final long[] distance;
+        final int[] parent;
+        final int[] parentArc;
+        final int[] stamp;
+        final IndexedMinHeap heap;
+        int generation;
+
+        Search(CompressedSparseRow arcs) {
+            int n = arcs.verticesNumber;
+            this.arcs = arcs;
+            this.distance = new long[n];
+            this.parent = new int[n];
+            this.parentArc = new int[n];
+            this.stamp = new int[n];
+            this.heap = new IndexedMinHeap(n);
+        }
+
+        void start(int source) {
+            if (++generation == 0) {
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            heap.clear();
+            stamp[source] = generation;
+            distance[source] = 0;
+            parent[source] = -1;
+            heap.insertOrDecrease(source, 0);
+        }
+
+        long getDistance(int v) {
+            return stamp[v] == generation ? distance[v] : Dijkstra.UNREACHABLE;
+        }
+
+        // relaxes the arcs leaving u, returning how many were looked at
+        int relax(int u) {
+            long base = distance[u];
+            for (int arc = arcs.offsets[u]; arc < arcs.offsets[u + 1]; arc++) {
+                int v = arcs.targets[arc];
+                long candidate = base + arcs.weights[arc];
+                if (stamp[v] != generation || candidate < distance[v]) {
+                    stamp[v] = generation;
+                    distance[v] = candidate;
+                    parent[v] = u;
+                    parentArc[v] = arc;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+            return arcs.offsets[u + 1] - arcs.offsets[u];
+        }
+    }
+
+    /**
+     * State of the preprocessing: growable arc lists of the remaining graph and the witness search buffers
+     */
+    private static final class Contraction {
+        final int n;
+        final ArcLists out;
+        final ArcLists in;
+        final boolean[] contracted;
+        final int[] contractedNeighbours;
+        final int[] rank;
+
+        // witness search buffers
+        final long[] distance;
+        final int[] stamp;
+        final IndexedMinHeap heap;
+        int generation;
+
+        Contraction(CompressedSparseRow adjacency) {
+            this.n = adjacency.verticesNumber;
+            this.out = new ArcLists(n);
+            this.in = new ArcLists(n);
+            for (int u = 0; u < n; u++) {
+                for (int arc = adjacency.offsets[u]; arc < adjacency.offsets[u + 1]; arc++) {
+                    int v = adjacency.targets[arc];
+                    if (u != v)
+                        addArc(u, v, adjacency.weights[arc], -1, adjacency.edgeIds[arc]);
+                }
+            }
+            this.contracted = new boolean[n];
+            this.contractedNeighbours = new int[n];
+            this.rank = new int[n];
+            this.distance = new long[n];
+            this.stamp = new int[n];
+            this.heap = new IndexedMinHeap(n);
+        }
+
+        ContractionHierarchy run() {
+            IndexedMinHeap order = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++)
+                order.insertOrDecrease(v, priority(v));
+
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                // lazy update: the priority may have grown since it was computed
+                long current = priority(v);
+                if (!order.isEmpty() && current > order.getKey(order.peek())) {
+                    order.insertOrDecrease(v, current);
+                    continue;
+                }
+                contract(v, false);
+                contracted[v] = true;
+                rank[v] = next++;
+                for (int i = 0; i < out.sizes[v]; i++)
+                    contractedNeighbours[out.targets[v][i]]++;
+                for (int i = 0; i < in.sizes[v]; i++)
+                    contractedNeighbours[in.targets[v][i]]++;
+            }
+            return hierarchy();
+        }
+
+        // edge difference plus contracted neighbours, so contractions spread evenly over the graph
+        long priority(int v) {
+            int removed = 0;
+            for (int i = 0; i < out.sizes[v]; i++)
+                if (!contracted[out.targets[v][i]])
+                    removed++;
+            for (int i = 0; i < in.sizes[v]; i++)
+                if (!contracted[in.targets[v][i]])
+                    removed++;
+            return contract(v, true) - removed + contractedNeighbours[v];
+        }
+
+        /**
+         * Finds the shortcuts needed to contract the vertice
+         *
+         * @param v        vertice index
+         * @param simulate if the shortcuts should only be counted
+         * @return the number of shortcuts
+         */
+        int contract(int v, boolean simulate) {
+            int shortcuts = 0;
+            for (int i = 0; i < in.sizes[v]; i++) {
+                int u = in.targets[v][i];
+                if (contracted[u])
+                    continue;
+                long toV = in.weights[v][i];
+                long maxOut = -1;
+                for (int j = 0; j < out.sizes[v]; j++) {
+                    int w = out.targets[v][j];
+                    if (!contracted[w] && w != u)
+                        maxOut = Math.max(maxOut, out.weights[v][j]);
+                }
+                if (maxOut == -1)
+                    continue;
+
+                witnessSearch(u, v, toV + maxOut, simulate ? ESTIMATE_SETTLED_LIMIT : WITNESS_SETTLED_LIMIT);
+                for (int j = 0; j < out.sizes[v]; j++) {
+                    int w = out.targets[v][j];
+                    if (contracted[w] || w == u)
+                        continue;
+                    long through = toV + out.weights[v][j];
+                    if (stamp[w] == generation && distance[w] <= through)
+                        continue; // a witness path avoids v
+                    shortcuts++;
+                    if (simulate)
+                        continue;
+                    // shortcuts are stored as int weights like the arcs they replace
+                    if (through > Integer.MAX_VALUE)
+                        throw new IllegalArgumentException("Contraction hierarchy shortcut weight " + through
+                                + " exceeds " + Integer.MAX_VALUE);
+                    addArc(u, w, (int) through, v, -1);
+                }
+            }
+            return shortcuts;
+        }
+
+        // bounded Dijkstra search from u over the remaining graph without the vertice being contracted
+        void witnessSearch(int u, int excluded, long limit, int settledLimit) {
+            if (++generation == 0) {
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            heap.clear();
+            stamp[u] = generation;
+            distance[u] = 0;
+            heap.insertOrDecrease(u, 0);
+            int settled = 0;
+            while (!heap.isEmpty() && settled++ < settledLimit) {
+                int x = heap.poll();
+                if (distance[x] > limit)
+                    break;
+                for (int i = 0; i < out.sizes[x]; i++) {
+                    int y = out.targets[x][i];
+                    if (y == excluded || contracted[y])
+                        continue;
+                    long candidate = distance[x] + out.weights[x][i];
+                    if (stamp[y] != generation || candidate < distance[y]) {
+                        stamp[y] = generation;
+                        distance[y] = candidate;
+                        heap.insertOrDecrease(y, candidate);
+                    }
+                }
+            }
+        }
+
+        void addArc(int u, int v, int weight, int middle, int edgeId) {
+            if (out.add(u, v, weight, middle, edgeId))
+                in.add(v, u, weight, middle, edgeId);
+        }
+
+        // splits every arc, original or shortcut, by the direction it climbs the hierarchy
+        ContractionHierarchy hierarchy() {
+            int[] upCounts = new int[n + 1], downCounts = new int[n + 1];
+            for (int u = 0; u < n; u++)
+                for (int i = 0; i < out.sizes[u]; i++) {
+                    if (rank[u] < rank[out.targets[u][i]])
+                        upCounts[u + 1]++;
+                    else
+                        downCounts[out.targets[u][i] + 1]++;
+                }
+            for (int v = 0; v < n; v++) {
+                upCounts[v + 1] += upCounts[v];
+                downCounts[v + 1] += downCounts[v];
+            }
+
+            int[] upTargets = new int[upCounts[n]], upWeights = new int[upCounts[n]];
+            int[] upEdgeIds = new int[upCounts[n]], upMiddles = new int[upCounts[n]];
+            int[] downTargets = new int[downCounts[n]], downWeights = new int[downCounts[n]];
+            int[] downEdgeIds = new int[downCounts[n]], downMiddles = new int[downCounts[n]];
+            int[] upCursor = Arrays.copyOf(upCounts, n), downCursor = Arrays.copyOf(downCounts, n);
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < out.sizes[u]; i++) {
+                    int v = out.targets[u][i];
+                    int arc;
+                    if (rank[u] < rank[v]) {
+                        arc = upCursor[u]++;
+                        upTargets[arc] = v;
+                        upWeights[arc] = out.weights[u][i];
+                        upEdgeIds[arc] = out.edgeIds[u][i];
+                        upMiddles[arc] = out.middles[u][i];
+                    } else {
+                        arc = downCursor[v]++;
+                        downTargets[arc] = u;
+                        downWeights[arc] = out.weights[u][i];
+                        downEdgeIds[arc] = out.edgeIds[u][i];
+                        downMiddles[arc] = out.middles[u][i];
+                    }
+                }
+            }
+            return new ContractionHierarchy(rank,
+                    new CompressedSparseRow(upCounts, upTargets, upWeights, upEdgeIds), upMiddles,
+                    new CompressedSparseRow(downCounts, downTargets, downWeights, downEdgeIds), downMiddles);
+        }
+    }
+
+    /**
+     * Growable primitive arc lists of each vertice, keeping a single, lightest arc between two vertices
+     */
+    private static final class ArcLists {
+        final int[][] targets;
+        final int[][] weights;
+        final int[][] middles;
+        final int[][] edgeIds;
+        final int[] sizes;
+
+        ArcLists(int n) {
+            targets = new int[n][];
+            weights = new int[n][];
+            middles = new int[n][];
+            edgeIds = new int[n][];
+            sizes = new int[n];
+        }
+
+        /**
+         * Adds the arc, or lowers the weight of the existing one
+         *
+         * @return false when an arc at least as light was already there
+         */
+        boolean add(int u, int v, int weight, int middle, int edgeId) {
+            for (int i = 0; i < sizes[u]; i++) {
+                if (targets[u][i] == v) {
+                    if (weights[u][i] <= weight)
+                        return false;
+                    weights[u][i] = weight;
+                    middles[u][i] = middle;
+                    edgeIds[u][i] = edgeId;
+                    return true;
+                }
+            }
+            if (targets[u] == null) {
+                targets[u] = new int[4];
+                weights[u] = new int[4];
+                middles[u] = new int[4];
+                edgeIds[u] = new int[4];
+            } else if (sizes[u] == targets[u].length) {
+                int capacity = sizes[u] * 2;
+                targets[u] = Arrays.copyOf(targets[u], capacity);
+                weights[u] = Arrays.copyOf(weights[u], capacity);
+                middles[u] = Arrays.copyOf(middles[u], capacity);
+                edgeIds[u] = Arrays.copyOf(edgeIds[u], capacity);
+            }
+            int i = sizes[u]++;
+            targets[u][i] = v;
+            weights[u][i] = weight;
+            middles[u][i] = middle;
+            edgeIds[u][i] = edgeId;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delta-stepping single-source shortest paths on several threads. Vertices are kept in buckets of
+ * delta-wide distance ranges, processed in order: the light arcs (weight up to delta) of a bucket are
+ * relaxed in parallel until it stops refilling, then its heavy arcs are relaxed once. Distances live in
+ * an atomic array lowered with compare-and-set, and only max weight / delta + 2 buckets are kept, reused
+ * cyclically. An instance keeps its buffers and thread pool between queries, {@link #close()} stops the pool.
+ */
+public class DeltaStepping implements AutoCloseable {
+    // smaller frontiers are relaxed on the calling thread, forking would cost more than the work
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    final CompressedSparseRow adjacency;
+    final int delta;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final AtomicLongArray distance;
+    private final long[] relaxedAt; // distance each vertice had when its arcs were last relaxed
+
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private long pending;
+
+    private final int[][] updated; // vertices lowered by each chunk during a phase
+    private final int[] updatedSizes;
+    private int[] frontier = new int[16];
+    private int[] settled = new int[16]; // vertices of the current bucket, for the heavy phase
+
+    /**
+     * Prepares the buffers, using the average arc weight as delta
+     *
+     * @param adjacency   adjacency of the graph, arcs must not have negative weights
+     * @param parallelism number of threads
+     */
+    public DeltaStepping(CompressedSparseRow adjacency, int parallelism) {
+        this(adjacency, averageWeight(adjacency), parallelism);
+    }
+
+    /**
+     * Prepares the buffers
+     *
+     * @param adjacency   adjacency of the graph, arcs must not have negative weights
+     * @param delta       width of the buckets, 1 behaves like Dijkstra, a big one like Bellman-Ford
+     * @param parallelism number of threads
+     */
+    public DeltaStepping(CompressedSparseRow adjacency, int delta, int parallelism) {
+        int maxWeight = 0;
+        for (int weight : adjacency.weights) {
+            if (weight < 0)
+                throw new IllegalArgumentException("Delta-stepping does not accept negative weights");
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        if (delta < 1)
+            throw new IllegalArgumentException("Delta must be positive");
+        this.adjacency = adjacency;
+        this.delta = delta;
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+        int n = adjacency.verticesNumber;
+        this.distance = new AtomicLongArray(n);
+        this.relaxedAt = new long[n];
+
+        // a relaxation lands at most max weight past the current bucket
+        int bucketsNumber = maxWeight / delta + 2;
+        this.buckets = new int[bucketsNumber][16];
+        this.bucketSizes = new int[bucketsNumber];
+        this.updated = new int[parallelism][16];
+        this.updatedSizes = new int[parallelism];
+    }
+
+    private static int averageWeight(CompressedSparseRow adjacency) {
+        long total = 0;
+        for (int weight : adjacency.weights)
+            total += weight;
+        return (int) Math.max(1, adjacency.weights.length == 0 ? 1 : total / adjacency.weights.length);
+    }
+
+    /**
+     * Computes the distances from the source to every vertice
+     *
+     * @param source vertice index where the paths start
+     */
+    public void run(int source) {
+        int n = adjacency.verticesNumber;
+        for (int v = 0; v < n; v++)
+            distance.set(v, Dijkstra.UNREACHABLE);
+        Arrays.fill(relaxedAt, Dijkstra.UNREACHABLE);
+        Arrays.fill(bucketSizes, 0);
+        pending = 0;
+
+        distance.set(source, 0);
+        push(source);
+        for (long current = 0; pending > 0; current++) {
+            int slot = (int) (current % buckets.length);
+            int settledNumber = 0;
+            // light phase, repeated while relaxations put vertices back in the current bucket
+            while (bucketSizes[slot] > 0) {
+                int frontierNumber = 0;
+                for (int i = 0; i < bucketSizes[slot]; i++) {
+                    int v = buckets[slot][i];
+                    long d = distance.get(v);
+                    // skip entries left behind in an older bucket and vertices already relaxed at this distance
+                    if (d / delta != current || relaxedAt[v] == d)
+                        continue;
+                    relaxedAt[v] = d;
+                    frontier = append(frontier, frontierNumber++, v);
+                    settled = append(settled, settledNumber++, v);
+                }
+                pending -= bucketSizes[slot];
+                bucketSizes[slot] = 0;
+                relaxAll(frontier, frontierNumber, true);
+            }
+            relaxAll(settled, settledNumber, false);
+        }
+    }
+
+    // relaxes the light or heavy arcs of the vertices in parallel, then buckets the vertices that were lowered
+    private void relaxAll(int[] vertices, int verticesNumber, boolean light) {
+        if (verticesNumber == 0)
+            return;
+        int chunks = Math.min(parallelism, Math.max(1, verticesNumber / MIN_CHUNK_SIZE));
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            int from = (int) ((long) verticesNumber * chunk / chunks);
+            int to = (int) ((long) verticesNumber * (chunk + 1) / chunks);
+            tasks.add(() -> {
+                updatedSizes[index] = 0;
+                int[] offsets = adjacency.offsets, targets = adjacency.targets, weights = adjacency.weights;
+                for (int i = from; i < to; i++) {
+                    int u = vertices[i];
+                    long base = distance.get(u);
+                    for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                        if ((weights[arc] <= delta) != light)
+                            continue;
+                        int v = targets[arc];
+                        if (lowerTo(v, base + weights[arc]))
+                            updated[index] = append(updated[index], updatedSizes[index]++, v);
+                    }
+                }
+                return null;
+            });
+        }
+        if (chunks == 1) {
+            call(tasks.get(0));
+        } else {
+            try {
+                for (Future<Void> task : pool.invokeAll(tasks))
+                    task.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        for (int chunk = 0; chunk < chunks; chunk++)
+            for (int i = 0; i < updatedSizes[chunk]; i++)
+                push(updated[chunk][i]);
+    }
+
+    private static void call(Callable<Void> task) {
+        try {
+            task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // lowers the distance of the vertice when the candidate is smaller
+    private boolean lowerTo(int v, long candidate) {
+        long current = distance.get(v);
+        while (candidate < current) {
+            if (distance.compareAndSet(v, current, candidate))
+                return true;
+            current = distance.get(v);
+        }
+        return false;
+    }
+
+    // puts the vertice in the bucket of its distance, it may already be in an older one
+    private void push(int v) {
+        int slot = (int) (distance.get(v) / delta % buckets.length);
+        buckets[slot] = append(buckets[slot], bucketSizes[slot]++, v);
+        pending++;
+    }
+
+    private static int[] append(int[] values, int index, int value) {
+        if (index == values.length)
+            values = Arrays.copyOf(values, index * 2);
+        values[index] = value;
+        return values;
+    }
+
+    /**
+     * Returns the distance found by the last query
+     *
+     * @param v vertice index
+     * @return the distance, or Dijkstra.UNREACHABLE when the vertice was not reached
+     */
+    public long getDistance(int v) {
+        return distance.get(v);
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
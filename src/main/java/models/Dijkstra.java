@@ -0,0 +1,135 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra's single-source shortest paths over a compressed adjacency, with an indexed heap.
+ * The distance, parent and heap buffers are allocated once and reused by every query made with the
+ * same instance: a query only bumps a generation counter, entries stamped with an older generation
+ * count as unreached, so repeated queries allocate nothing.
+ */
+public class Dijkstra {
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    final CompressedSparseRow adjacency;
+    private final long[] distance;
+    private final int[] parent;
+    private final int[] stamp;  // generation that last wrote each vertice
+    private final IndexedMinHeap heap;
+    private int generation;
+    private int source = -1;
+
+    /**
+     * Prepares the buffers for the adjacency
+     *
+     * @param adjacency adjacency of the graph, arcs must not have negative weights
+     */
+    public Dijkstra(CompressedSparseRow adjacency) {
+        for (int weight : adjacency.weights)
+            if (weight < 0)
+                throw new IllegalArgumentException("Dijkstra's algorithm does not accept negative weights");
+        this.adjacency = adjacency;
+        int n = adjacency.verticesNumber;
+        this.distance = new long[n];
+        this.parent = new int[n];
+        this.stamp = new int[n];
+        this.heap = new IndexedMinHeap(n);
+    }
+
+    /**
+     * Computes the shortest paths from the source to every vertice
+     *
+     * @param source vertice index where the paths start
+     */
+    public void run(int source) {
+        run(source, -1);
+    }
+
+    /**
+     * Computes the shortest paths from the source, stopping as soon as the target is settled.
+     * Only the distances of settled vertices are final after an early stop
+     *
+     * @param source vertice index where the paths start
+     * @param target vertice index where the search may stop, -1 to reach every vertice
+     * @return the distance to the target, or UNREACHABLE
+     */
+    public long run(int source, int target) {
+        int[] offsets = adjacency.offsets, targets = adjacency.targets, weights = adjacency.weights;
+        start(source);
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (u == target)
+                return distance[u];
+            long base = distance[u];
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = targets[arc];
+                long candidate = base + weights[arc];
+                // a settled vertice always has a distance not bigger than the candidate
+                if (stamp[v] != generation || candidate < distance[v]) {
+                    stamp[v] = generation;
+                    distance[v] = candidate;
+                    parent[v] = u;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+        return target == -1 ? UNREACHABLE : getDistance(target);
+    }
+
+    private void start(int source) {
+        // wrapping around would make stamps of older queries look current
+        if (++generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        heap.clear();
+        this.source = source;
+        stamp[source] = generation;
+        distance[source] = 0;
+        parent[source] = -1;
+        heap.insertOrDecrease(source, 0);
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the distance found by the last query
+     *
+     * @param v vertice index
+     * @return the distance, or UNREACHABLE when the vertice was not reached
+     */
+    public long getDistance(int v) {
+        return stamp[v] == generation ? distance[v] : UNREACHABLE;
+    }
+
+    /**
+     * Returns the vertice before this one on its shortest path
+     *
+     * @param v vertice index
+     * @return the parent, -1 for the source and vertices not reached
+     */
+    public int getParent(int v) {
+        return stamp[v] == generation ? parent[v] : -1;
+    }
+
+    /**
+     * Rebuilds the shortest path from the source of the last query
+     *
+     * @param target vertice index where the path ends
+     * @return the vertice indexes from the source to the target, empty when the target was not reached
+     */
+    public int[] getPath(int target) {
+        if (getDistance(target) == UNREACHABLE)
+            return new int[0];
+        int length = 1;
+        for (int v = target; parent[v] != -1; v = parent[v])
+            length++;
+        int[] path = new int[length];
+        for (int v = target; length > 0; v = parent[v])
+            path[--length] = v;
+        return path;
+    }
+}
@@ -3,7 +3,7 @@ package models;
 /**
  * The edge direction is guided by the ArrayList order, so given two vertices v1 and v2,
  * when the array is [v1, v2] the directions goes from v1 to v2, while [v2, v1] the direction
- * is from v2 to v1
+ * is from v2 to v1. The key keeps that order, so equality and hashing tell both directions apart
  */
 public class DirectedEdge extends Edge {
     /**
@@ -12,16 +12,14 @@ public class DirectedEdge extends Edge {
      * @param fileString String from file
      */
     DirectedEdge(String fileString) {
-        super(Integer.parseInt(fileString.split(";")[2]));
+        this(fileString.split(";"));
+    }
 
-        String[] strings = fileString.split(";");
-        if (strings[3].equals("1")) {
-            this.vertices.add(new Vertice(Integer.parseInt(strings[0].strip())));
-            this.vertices.add(new Vertice(Integer.parseInt(strings[1].strip())));
-        } else {
-            this.vertices.add(new Vertice(Integer.parseInt(strings[1].strip())));
-            this.vertices.add(new Vertice(Integer.parseInt(strings[0].strip())));
-        }
+    // the fourth field tells if the edge goes from the first vertice to the second or the other way
+    private DirectedEdge(String[] strings) {
+        this(new Vertice(Integer.parseInt(strings[strings[3].equals("1") ? 0 : 1].strip())),
+                new Vertice(Integer.parseInt(strings[strings[3].equals("1") ? 1 : 0].strip())),
+                Integer.parseInt(strings[2]));
     }
 
     /**
@@ -32,36 +30,17 @@ public class DirectedEdge extends Edge {
      * @param v2     second vertice
      */
     DirectedEdge(int weight, int v1, int v2) {
-        super(weight);
-        this.vertices.add(new Vertice(v1));
-        this.vertices.add(new Vertice(v2));
+        this(new Vertice(v1), new Vertice(v2), weight);
     }
 
     /**
-     * Compares two directed edges and says if they are equal and point at the same direction
+     * Creates edge from two existing vertices, going from v1 to v2
      *
-     * @param o edge to be compared to
-     * @return if the edges are equal
-     */
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        DirectedEdge that = (DirectedEdge) o;
-        return Double.compare(that.weight, weight) == 0 &&
-                vertices.equals(that.vertices);
-    }
-
-    /**
-     * Compares two edges and says if they are equal ignoring their weight
-     *
-     * @param o edge to be compared to
-     * @return if the edges are equal ignoring their weight
+     * @param v1     first vertice
+     * @param v2     second vertice
+     * @param weight Value needed to run the edge
      */
-    public boolean equalsIgnoreWeight(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        DirectedEdge that = (DirectedEdge) o;
-        return vertices.equals(that.vertices);
+    DirectedEdge(Vertice v1, Vertice v2, int weight) {
+        super(v1, v2, weight, pack(v1.id, v2.id));
     }
 }
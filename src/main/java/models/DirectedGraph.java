@@ -1,17 +1,124 @@
 package models;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class DirectedGraph {
     final int verticesNumber;
     final List<Vertice> vertices = new ArrayList<>();
-    final List<DirectedEdge> edges = new ArrayList<>();
+    final EdgeList<DirectedEdge> edges; // a loaded snapshot keeps them primitive
+    final VertexIndex vertexIndex = new VertexIndex(); // position of each vertice in the vertices list
+    // caches built on demand under the lock, so queries can run from many threads while nothing changes the graph
+    volatile CompressedSparseRow adjacency; // null whenever the edges change
+    volatile EdgeMultiset edgeKeys; // kept up to date as edges are added
+    private final Object cacheLock = new Object();
+    int[] entryDegrees = new int[8]; // parallel to the vertices list
+    int[] exitDegrees = new int[8];
 
     public DirectedGraph(int verticesNumber) {
+        this(verticesNumber, new EdgeList<>(true));
+    }
+
+    /**
+     * Creates the graph over an edge list, the vertices and degrees are left to the caller
+     *
+     * @param verticesNumber number of vertices
+     * @param edges          edges of the graph
+     */
+    DirectedGraph(int verticesNumber, EdgeList<DirectedEdge> edges) {
         this.verticesNumber = verticesNumber;
+        this.edges = edges;
+    }
+
+    /**
+     * Creates the graph from a bulk loaded edge buffer in a single pass
+     *
+     * @param verticesNumber number of vertices
+     * @param edgeBuffer     edges of the graph, each one going from its source to its destination
+     */
+    public DirectedGraph(int verticesNumber, EdgeBuffer edgeBuffer) {
+        this(verticesNumber);
+        for (int e = 0; e < edgeBuffer.size; e++) {
+            Vertice v1 = sharedVertice(edgeBuffer.sources[e]);
+            Vertice v2 = sharedVertice(edgeBuffer.destinations[e]);
+            DirectedEdge edge = new DirectedEdge(v1, v2, edgeBuffer.weights[e]);
+            this.edges.add(edge);
+            this.countDegrees(v1.id, v2.id);
+        }
+    }
+
+    /**
+     * Returns the vertice with the id, adding it to the end of the vertices list when it is new
+     *
+     * @param id vertice id
+     * @return the vertice
+     */
+    private Vertice sharedVertice(int id) {
+        int i = this.vertexIndex.add(id);
+        if (i == this.vertices.size())
+            this.vertices.add(new Vertice(id));
+        return this.vertices.get(i);
+    }
+
+    /**
+     * Returns the compressed adjacency of the graph, only holding the arcs leaving each vertice.
+     * Vertices are indexed by their position in the vertices list
+     *
+     * @return the graph adjacency
+     */
+    public CompressedSparseRow getAdjacency() {
+        CompressedSparseRow adjacency = this.adjacency;
+        if (adjacency == null) {
+            synchronized (cacheLock) {
+                adjacency = this.adjacency;
+                if (adjacency == null)
+                    this.adjacency = adjacency = CompressedSparseRow.fromEdges(this.vertexIndex, this.edges, true);
+            }
+        }
+        return adjacency;
+    }
+
+    /**
+     * Returns the keys of the edges, counting how many edges go from each vertice to each other one
+     *
+     * @return the edge multiset
+     */
+    EdgeMultiset getEdgeKeys() {
+        EdgeMultiset edgeKeys = this.edgeKeys;
+        if (edgeKeys == null) {
+            synchronized (cacheLock) {
+                edgeKeys = this.edgeKeys;
+                if (edgeKeys == null)
+                    this.edgeKeys = edgeKeys = EdgeMultiset.of(this.edges);
+            }
+        }
+        return edgeKeys;
+    }
+
+    /**
+     * Saves the graph as a binary snapshot
+     *
+     * @param path     snapshot file
+     * @param checksum if a checksum should be written and verified when loading
+     * @throws IOException if an I/O exception happens
+     */
+    public void save(Path path, boolean checksum) throws IOException {
+        GraphSnapshot.save(this, path, checksum);
+    }
+
+    /**
+     * Loads a graph saved as a binary snapshot
+     *
+     * @param path snapshot file
+     * @return the graph
+     * @throws IOException if an I/O exception happens or the file is not a valid snapshot
+     */
+    public static DirectedGraph load(Path path) throws IOException {
+        return GraphSnapshot.loadDirectedGraph(path);
     }
 
     /**
@@ -20,17 +127,63 @@ public class DirectedGraph {
      * @param edgeString edge string
      */
     public void addEdgeFromString(String edgeString) {
-        this.edges.add(new DirectedEdge(edgeString));
-        this.updateVertices();
+        DirectedEdge e = new DirectedEdge(edgeString);
+        this.edges.add(e);
+        if (this.edgeKeys != null)
+            this.edgeKeys.add(e.key);
+        this.registerVertice(e.vertices.get(0));
+        this.registerVertice(e.vertices.get(1));
+        this.countDegrees(e.vertices.get(0).id, e.vertices.get(1).id);
+        this.adjacency = null;
+    }
+
+    /**
+     * Adds the vertice to the end of the vertices list if it is not part of the graph yet
+     *
+     * @param v vertice to be added
+     */
+    void registerVertice(Vertice v) {
+        if (this.vertexIndex.indexOf(v.id) == -1) {
+            this.vertexIndex.add(v.id);
+            this.vertices.add(v);
+        }
+    }
+
+    /**
+     * Updates the cached entry and exit degrees with a new edge
+     *
+     * @param sourceId      id of the vertice where the edge starts
+     * @param destinationId id of the vertice where the edge ends
+     */
+    private void countDegrees(int sourceId, int destinationId) {
+        if (this.vertices.size() > this.exitDegrees.length) {
+            int capacity = Math.max(this.vertices.size(), this.exitDegrees.length * 2);
+            this.entryDegrees = Arrays.copyOf(this.entryDegrees, capacity);
+            this.exitDegrees = Arrays.copyOf(this.exitDegrees, capacity);
+        }
+        this.exitDegrees[this.vertexIndex.indexOf(sourceId)]++;
+        this.entryDegrees[this.vertexIndex.indexOf(destinationId)]++;
+    }
+
+    /**
+     * Computes every cached degree again from the edges list, used after bulk changes
+     */
+    void recountDegrees() {
+        this.entryDegrees = new int[Math.max(this.vertices.size(), 8)];
+        this.exitDegrees = new int[Math.max(this.vertices.size(), 8)];
+        for (int e = 0; e < this.edges.size(); e++)
+            this.countDegrees(this.edges.firstId(e), this.edges.secondId(e));
     }
 
     /**
      * Update vertices list
      */
     public void updateVertices() {
-        this.edges.forEach(e -> e.vertices.forEach(v -> {
-            if (!this.vertices.contains(v)) this.vertices.add(v);
-        }));
+        for (DirectedEdge e : this.edges) {
+            this.registerVertice(e.vertices.get(0));
+            this.registerVertice(e.vertices.get(1));
+        }
+        this.adjacency = null;
     }
 
     /**
@@ -40,9 +193,8 @@ public class DirectedGraph {
      * @return the entry degree -1 if vertice is not part of the graph
      */
     public int getEntryDegree(Vertice v1) {
-        return this.vertices.contains(v1)
-                ? (int) this.edges.stream().filter(e -> e.vertices.get(1).equals(v1)).count()
-                : -1;
+        int index = this.vertexIndex.indexOf(v1.id);
+        return index != -1 ? this.entryDegrees[index] : -1;
     }
 
     /**
@@ -52,62 +204,164 @@ public class DirectedGraph {
      * @return the exit degree -1 if vertice is not part of the graph
      */
     public int getExitDegree(Vertice v1) {
-        return this.vertices.contains(v1)
-                ? (int) this.edges.stream().filter(e -> e.vertices.get(0).equals(v1)).count()
-                : -1;
+        int index = this.vertexIndex.indexOf(v1.id);
+        return index != -1 ? this.exitDegrees[index] : -1;
     }
 
     /**
-     * If the graph is cyclic or not using depth traversal algorithm
+     * Tests if there is an edge going from the first vertice to the second
      *
-     * @return if it has a cycle
+     * @param v1 vertice where the edge starts
+     * @param v2 vertice where the edge ends
+     * @return if they are adjacent or not
      */
-    public boolean hasCycle() {
-        //Visited and Stack arrays
-        boolean[] visited = new boolean[verticesNumber];
-        boolean[] recStack = new boolean[verticesNumber];
+    public boolean isAdjacent(Vertice v1, Vertice v2) {
+        return this.getEdgeKeys().contains(Edge.pack(v1.id, v2.id));
+    }
 
-        //Call Recursive helper function
-        for (int i = 0; i < this.vertices.size(); i++)
-            if (hasCycleUtil(i, visited, recStack))
+    /**
+     * Returns if the graph has loops or not
+     *
+     * @return if the graph has loops or not
+     */
+    boolean hasLoops() {
+        for (int e = 0; e < this.edges.size(); e++)
+            if (this.edges.isLoop(e))
                 return true;
         return false;
     }
 
     /**
-     * Recursive helper function for hasCycle method
+     * Returns if the graph has parallel edges or not, that is two edges going in the same direction
      *
-     * @param v       vertice being analyzed
-     * @param visited if it was visited or not
-     * @return if the vertice has a cycle or not
+     * @return if the graph has parallel edges or not
      */
-    private boolean hasCycleUtil(int v, boolean[] visited, boolean[] recStack) {
+    boolean hasParallelEdges() {
+        // parallel edges share their key, so there are fewer distinct keys than edges
+        return this.getEdgeKeys().size() < this.edges.size();
+    }
 
-        if (recStack[v])
-            return true;
+    /**
+     * Returns if the graph is simple or not
+     *
+     * @return if the graph is simple or not
+     */
+    public boolean isSimple() {
+        return !this.hasLoops() && !this.hasParallelEdges();
+    }
 
-        if (visited[v])
-            return false;
+    /**
+     * If the graph is cyclic or not: it is when a strongly connected component has more than one vertice
+     * or a vertice has a loop
+     *
+     * @return if it has a cycle
+     */
+    public boolean hasCycle() {
+        return this.getStronglyConnectedComponents().hasCycle();
+    }
 
-        //Add current node to stack and set it as visited
-        visited[v] = true;
-        recStack[v] = true;
+    /**
+     * Returns the strongly connected components of the graph, with their condensation
+     *
+     * @return the components, indexing vertices by their position in the vertices list
+     */
+    public StronglyConnectedComponents getStronglyConnectedComponents() {
+        return new StronglyConnectedComponents(this.getAdjacency());
+    }
 
-        List<Vertice> adjList = this.edges
-                .stream()
-                .filter(e -> e.vertices.get(0)
-                        .equals(this.vertices.get(v))
-                )
-                .map(e -> e.vertices.get(1))
-                .collect(Collectors.toList());
+    /**
+     * Returns the vertices in an order where every edge goes from an earlier vertice to a later one
+     *
+     * @return the vertices, or null if the graph has a cycle
+     */
+    public List<Vertice> getTopologicalOrder() {
+        int[] order = TopologicalSort.sort(this.getAdjacency());
+        if (order == null)
+            return null;
+        List<Vertice> sorted = new ArrayList<>(order.length);
+        for (int index : order)
+            sorted.add(this.vertices.get(index));
+        return sorted;
+    }
 
-        for (Vertice vertice : adjList)
-            if (hasCycleUtil(this.vertices.indexOf(vertice), visited, recStack))
-                return true;
+    /**
+     * Returns a shortest paths engine over the graph, its buffers are reused by every query made with it
+     *
+     * @return the engine, indexing vertices by their position in the vertices list
+     */
+    public Dijkstra getShortestPaths() {
+        return new Dijkstra(this.getAdjacency());
+    }
 
-        recStack[v] = false;
+    /**
+     * Returns a shortest paths engine accepting negative weights, its buffers are reused by every query
+     *
+     * @return the engine, indexing vertices by their position in the vertices list
+     */
+    public BellmanFord getBellmanFord() {
+        return new BellmanFord(this.getAdjacency());
+    }
 
-        return false;
+    /**
+     * Returns a cycle whose weights add up to a negative total, which leaves shortest paths undefined
+     *
+     * @return the vertices of the cycle in edge order, the last one going back to the first, empty if there is none
+     */
+    public List<Vertice> getNegativeCycle() {
+        BellmanFord bellmanFord = this.getBellmanFord();
+        List<Vertice> cycle = new ArrayList<>();
+        if (!bellmanFord.run(-1))
+            for (int index : bellmanFord.getNegativeCycle())
+                cycle.add(this.vertices.get(index));
+        return cycle;
+    }
+
+    /**
+     * Returns a delta-stepping shortest paths engine over the graph, running on several threads.
+     * It should be closed once the queries are done, to stop its threads
+     *
+     * @param parallelism number of threads
+     * @return the engine, indexing vertices by their position in the vertices list
+     */
+    public DeltaStepping getParallelShortestPaths(int parallelism) {
+        return new DeltaStepping(this.getAdjacency(), parallelism);
+    }
+
+    /**
+     * Returns a point-to-point search engine over the graph, with plain, bidirectional and A* modes
+     *
+     * @return the engine, indexing vertices by their position in the vertices list
+     */
+    public PointToPointSearch getPointToPointSearch() {
+        return new PointToPointSearch(this.getAdjacency(), true);
+    }
+
+    /**
+     * Preprocesses the graph into a contraction hierarchy, for many fast point-to-point queries
+     *
+     * @return the hierarchy, indexing vertices by their position in the vertices list
+     */
+    public ContractionHierarchy getContractionHierarchy() {
+        return ContractionHierarchy.build(this.getAdjacency());
+    }
+
+    /**
+     * Returns a shortest path between two vertices, using Dijkstra's algorithm stopped at the second one
+     *
+     * @param v1 first vertice
+     * @param v2 last vertice
+     * @return the vertices of the path, empty when v2 can not be reached from v1
+     */
+    public List<Vertice> getShortestPath(Vertice v1, Vertice v2) {
+        int source = this.vertexIndex.indexOf(v1.id), target = this.vertexIndex.indexOf(v2.id);
+        List<Vertice> path = new ArrayList<>();
+        if (source == -1 || target == -1)
+            return path;
+        Dijkstra dijkstra = this.getShortestPaths();
+        dijkstra.run(source, target);
+        for (int index : dijkstra.getPath(target))
+            path.add(this.vertices.get(index));
+        return path;
     }
 
     @Override
@@ -1,19 +1,29 @@
 package models;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
+/**
+ * Non-directed edge. Its vertices never change and its endpoints are also packed in a long key, smaller
+ * id first, so comparing and hashing edges reads two primitives and never allocates or mutates anything
+ */
 public class Edge implements Comparable<Edge> {
-    final List<Vertice> vertices = new ArrayList<>(); // Should never be bigger than 2
+    final List<Vertice> vertices; // unmodifiable, always two
     final int weight;
+    final long key; // both vertice ids, see key(int, int)
 
     /**
-     * Default Constructor
+     * Creates edge from two existing vertices and their key
+     *
+     * @param v1     first vertice
+     * @param v2     second vertice
      * @param weight Value needed to run the edge
+     * @param key    packed vertice ids
      */
-    Edge(Integer weight) {this.weight = weight;}
+    Edge(Vertice v1, Vertice v2, int weight, long key) {
+        this.vertices = List.of(v1, v2);
+        this.weight = weight;
+        this.key = key;
+    }
 
     /**
      * Creates edge from values
@@ -23,9 +33,7 @@ public class Edge implements Comparable<Edge> {
      * @param v2     second vertice
      */
     Edge(int weight, int v1, int v2) {
-        this.vertices.add(new Vertice(v1));
-        this.vertices.add(new Vertice(v2));
-        this.weight = weight;
+        this(new Vertice(v1), new Vertice(v2), weight);
     }
 
     /**
@@ -35,9 +43,18 @@ public class Edge implements Comparable<Edge> {
      * @param v2 second vertice
      */
     Edge(Vertice v1, Vertice v2) {
-        this.vertices.add(v1);
-        this.vertices.add(v2);
-        this.weight = 0;
+        this(v1, v2, 0);
+    }
+
+    /**
+     * Creates edge from two existing vertices, so bulk loads can share vertice instances
+     *
+     * @param v1     first vertice
+     * @param v2     second vertice
+     * @param weight Value needed to run the edge
+     */
+    Edge(Vertice v1, Vertice v2, int weight) {
+        this(v1, v2, weight, key(v1.id, v2.id));
     }
 
     /**
@@ -46,10 +63,34 @@ public class Edge implements Comparable<Edge> {
      * @param fileString String from file
      */
     Edge(String fileString) {
-        String[] strings = fileString.split(";");
-        this.vertices.add(new Vertice(Integer.parseInt(strings[0].strip())));
-        this.vertices.add(new Vertice(Integer.parseInt(strings[1].strip())));
-        this.weight = Integer.parseInt(strings[2]);
+        this(fileString.split(";"));
+    }
+
+    private Edge(String[] strings) {
+        this(new Vertice(Integer.parseInt(strings[0].strip())), new Vertice(Integer.parseInt(strings[1].strip())),
+                Integer.parseInt(strings[2]));
+    }
+
+    /**
+     * Packs two vertice ids in the order given
+     *
+     * @param first  id in the high half
+     * @param second id in the low half
+     * @return the packed ids
+     */
+    static long pack(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the key of a non-directed edge, the same whatever the order of its vertices
+     *
+     * @param v1 first vertice id
+     * @param v2 second vertice id
+     * @return the packed ids, smaller first
+     */
+    static long key(int v1, int v2) {
+        return v1 <= v2 ? pack(v1, v2) : pack(v2, v1);
     }
 
     /**
@@ -65,10 +106,7 @@ public class Edge implements Comparable<Edge> {
         if (o == null || getClass() != o.getClass())
             return false;
         Edge edge = (Edge) o;
-        boolean isNormalOrderEqual = vertices.equals(edge.vertices);
-        Collections.reverse(vertices);
-        boolean isReverseOrderEqual = vertices.equals(edge.vertices);
-        return Double.compare(edge.weight, weight) == 0 && (isNormalOrderEqual || isReverseOrderEqual);
+        return key == edge.key && weight == edge.weight;
     }
 
     /**
@@ -80,12 +118,9 @@ public class Edge implements Comparable<Edge> {
     public boolean equalsIgnoreWeight(Edge e) {
         if (this == e)
             return true;
-        if (e == null)
+        if (e == null || getClass() != e.getClass())
             return false;
-        boolean isNormalOrderEqual = vertices.equals(e.vertices);
-        Collections.reverse(vertices);
-        boolean isReverseOrderEqual = vertices.equals(e.vertices);
-        return isNormalOrderEqual || isReverseOrderEqual;
+        return key == e.key;
     }
 
     public int compareTo(Edge compareEdge) {
@@ -94,7 +129,7 @@ public class Edge implements Comparable<Edge> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(vertices, weight);
+        return 31 * Long.hashCode(key) + weight;
     }
 
     @Override
@@ -0,0 +1,93 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of edges stored as primitive arrays, used to load a graph in bulk.
+ * Vertices are stored by id, the edge direction (when there is one) goes from source to destination
+ */
+public class EdgeBuffer {
+    int[] sources;
+    int[] destinations;
+    int[] weights;
+    int size;
+
+    public EdgeBuffer() {
+        this(16);
+    }
+
+    /**
+     * Creates a buffer that can hold the given number of edges without growing
+     *
+     * @param capacity initial capacity
+     */
+    public EdgeBuffer(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.sources = new int[capacity];
+        this.destinations = new int[capacity];
+        this.weights = new int[capacity];
+    }
+
+    /**
+     * Appends an edge
+     *
+     * @param source      first vertice id
+     * @param destination second vertice id
+     * @param weight      value needed to run the edge
+     */
+    public void add(int source, int destination, int weight) {
+        if (size == sources.length)
+            grow(size + 1);
+        sources[size] = source;
+        destinations[size] = destination;
+        weights[size] = weight;
+        size++;
+    }
+
+    /**
+     * Appends every edge of another buffer
+     *
+     * @param other buffer to be copied
+     */
+    public void addAll(EdgeBuffer other) {
+        if (size + other.size > sources.length)
+            grow(size + other.size);
+        System.arraycopy(other.sources, 0, sources, size, other.size);
+        System.arraycopy(other.destinations, 0, destinations, size, other.size);
+        System.arraycopy(other.weights, 0, weights, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Grows the buffer so it can hold the given number of edges without growing again
+     *
+     * @param capacity number of edges
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > sources.length)
+            grow(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getSource(int edge) {
+        return sources[edge];
+    }
+
+    public int getDestination(int edge) {
+        return destinations[edge];
+    }
+
+    public int getWeight(int edge) {
+        return weights[edge];
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, sources.length + (sources.length >> 1));
+        sources = Arrays.copyOf(sources, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+    }
+}
@@ -0,0 +1,158 @@
+package models;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Edges of a graph. The edges of a loaded snapshot are kept as the primitive arrays read from the file and
+ * edges added later are kept as objects after them. The graph queries read the ids, weights and keys by
+ * position, so they never need the edge objects: an edge object of the snapshot is only created the first
+ * time it is read, and the same object is returned afterwards
+ *
+ * @param <E> type of the edges
+ */
+class EdgeList<E extends Edge> extends AbstractList<E> implements RandomAccess {
+    /**
+     * Creates the edge object of a loaded edge
+     *
+     * @param <E> type of the edges
+     */
+    interface Factory<E> {
+        E create(Vertice v1, Vertice v2, int weight);
+    }
+
+    private static final int[] NO_EDGES = new int[0];
+
+    private final boolean directed;
+    private final Vertice[] vertices; // vertices of the snapshot, in the order the arrays index them
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[] weights;
+    private final Factory<E> factory;
+    volatile AtomicReferenceArray<E> created; // objects of the loaded edges, null until one is first read
+    private final List<E> added = new ArrayList<>();
+
+    /**
+     * Creates an empty list
+     *
+     * @param directed if the edge keys keep the edge direction
+     */
+    EdgeList(boolean directed) {
+        this(new Vertice[0], NO_EDGES, NO_EDGES, NO_EDGES, null, directed);
+    }
+
+    /**
+     * Creates the list over the loaded arrays, which must not be modified afterwards
+     *
+     * @param vertices     vertices of the snapshot
+     * @param sources      first vertice index of each edge
+     * @param destinations second vertice index of each edge
+     * @param weights      weight of each edge
+     * @param factory      creates an edge from its vertices and weight
+     * @param directed     if the edge keys keep the edge direction
+     */
+    EdgeList(Vertice[] vertices, int[] sources, int[] destinations, int[] weights, Factory<E> factory,
+             boolean directed) {
+        this.vertices = vertices;
+        this.sources = sources;
+        this.destinations = destinations;
+        this.weights = weights;
+        this.factory = factory;
+        this.directed = directed;
+    }
+
+    /**
+     * Returns the id of the first vertice of the edge, the source for a directed edge
+     *
+     * @param index edge position
+     * @return the vertice id
+     */
+    int firstId(int index) {
+        if (index >= sources.length)
+            return added.get(index - sources.length).vertices.get(0).id;
+        return vertices[sources[index]].id;
+    }
+
+    /**
+     * Returns the id of the second vertice of the edge, the destination for a directed edge
+     *
+     * @param index edge position
+     * @return the vertice id
+     */
+    int secondId(int index) {
+        if (index >= sources.length)
+            return added.get(index - sources.length).vertices.get(1).id;
+        return vertices[destinations[index]].id;
+    }
+
+    /**
+     * Returns the weight of the edge
+     *
+     * @param index edge position
+     * @return the weight
+     */
+    int weight(int index) {
+        if (index >= sources.length)
+            return added.get(index - sources.length).weight;
+        return weights[index];
+    }
+
+    /**
+     * Returns the key of the edge, see {@link Edge#key}
+     *
+     * @param index edge position
+     * @return the key
+     */
+    long key(int index) {
+        if (index >= sources.length)
+            return added.get(index - sources.length).key;
+        int first = vertices[sources[index]].id, second = vertices[destinations[index]].id;
+        return directed ? Edge.pack(first, second) : Edge.key(first, second);
+    }
+
+    /**
+     * Returns if the edge links a vertice to itself
+     *
+     * @param index edge position
+     * @return if the edge is a loop
+     */
+    boolean isLoop(int index) {
+        return this.firstId(index) == this.secondId(index);
+    }
+
+    @Override
+    public E get(int index) {
+        if (index >= sources.length)
+            return added.get(index - sources.length);
+        AtomicReferenceArray<E> created = this.created;
+        if (created == null) {
+            synchronized (this) {
+                created = this.created;
+                if (created == null)
+                    this.created = created = new AtomicReferenceArray<>(sources.length);
+            }
+        }
+        E edge = created.get(index);
+        if (edge == null) {
+            // when two threads create the same edge, both keep the object stored first
+            created.compareAndSet(index, null,
+                    factory.create(vertices[sources[index]], vertices[destinations[index]], weights[index]));
+            edge = created.get(index);
+        }
+        return edge;
+    }
+
+    @Override
+    public int size() {
+        return sources.length + added.size();
+    }
+
+    @Override
+    public boolean add(E e) {
+        modCount++;
+        return added.add(e);
+    }
+}
@@ -0,0 +1,106 @@
+package models;
+
+/**
+ * Multiset of edge keys, see {@link Edge#key}, counting how many edges link each pair of vertices.
+ * It is an open addressing hash table with linear probing over primitive arrays, so adding or finding an
+ * edge never boxes its key
+ */
+public class EdgeMultiset {
+    long[] keys;
+    int[] counts; // number of edges with the key stored in each slot, 0 when the slot is empty
+    int size;     // number of distinct keys
+
+    EdgeMultiset() {
+        this(8);
+    }
+
+    /**
+     * Creates a multiset that can hold the expected number of keys without resizing
+     *
+     * @param expectedSize expected number of distinct keys
+     */
+    EdgeMultiset(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) * 2;
+        this.keys = new long[capacity];
+        this.counts = new int[capacity];
+    }
+
+    /**
+     * Creates a multiset holding the key of every edge
+     *
+     * @param edges edges to be added
+     * @return the multiset
+     */
+    static EdgeMultiset of(EdgeList<?> edges) {
+        EdgeMultiset multiset = new EdgeMultiset(edges.size());
+        for (int e = 0; e < edges.size(); e++)
+            multiset.add(edges.key(e));
+        return multiset;
+    }
+
+    /**
+     * Adds one edge with the key
+     *
+     * @param key edge key
+     * @return the number of edges with the key, this one included
+     */
+    public int add(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (; counts[slot] != 0; slot = (slot + 1) & mask)
+            if (keys[slot] == key)
+                return ++counts[slot];
+
+        keys[slot] = key;
+        counts[slot] = 1;
+        // keep the table at most half full
+        if (++size * 2 > keys.length)
+            rehash(keys.length * 2);
+        return 1;
+    }
+
+    /**
+     * Returns how many edges have the key
+     *
+     * @param key edge key
+     * @return the number of edges, 0 when there is none
+     */
+    public int count(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; counts[slot] != 0; slot = (slot + 1) & mask)
+            if (keys[slot] == key)
+                return counts[slot];
+        return 0;
+    }
+
+    public boolean contains(long key) {
+        return count(key) != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] == 0)
+                continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (counts[slot] != 0)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    // mixes both vertice ids into the low bits
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -1,57 +1,325 @@
 package models;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class Graph {
     int verticesNumber;
     final List<Vertice> vertices = new ArrayList<>();
-    final List<Edge> edges = new ArrayList<>();
+    final EdgeList<Edge> edges; // a loaded snapshot keeps them primitive
     MinimumSpanningTree minimumSpanningTree;
-    int[][] adjMatrix;
+    // caches built on demand under the lock, so queries can run from many threads while nothing changes the graph
+    volatile CompressedSparseRow adjacency; // null whenever the edges change
+    VertexIndex vertexIndex = new VertexIndex(); // position of each vertice in the vertices list
+    volatile boolean sorted = true; // if the vertices list is sorted, it is only sorted when a query needs it
+    volatile EdgeMultiset edgeKeys; // kept up to date as edges are added
+    private final Object cacheLock = new Object();
+    int[] degrees = new int[8]; // degree of each vertice, parallel to the vertices list
+    int oddDegrees; // number of vertices with odd degree
 
     public void setVerticesNumber(int verticesNumber) {
         this.verticesNumber = verticesNumber;
-        adjMatrix = new int[verticesNumber][verticesNumber];
     }
 
     Graph(int verticesNumber, List<Vertice> vertices) {
-        setVerticesNumber(verticesNumber);
+        this(verticesNumber);
         this.vertices.addAll(vertices);
+        this.vertexIndex = VertexIndex.of(this.vertices);
+        for (int i = 1; i < this.vertices.size() && this.sorted; i++)
+            this.sorted = this.vertices.get(i - 1).id < this.vertices.get(i).id;
+        this.recountDegrees();
     }
 
     public Graph(int verticesNumber) {
+        this(verticesNumber, new EdgeList<>(false));
+    }
+
+    /**
+     * Creates the graph over an edge list, the vertices and degrees are left to the caller
+     *
+     * @param verticesNumber number of vertices
+     * @param edges          edges of the graph
+     */
+    Graph(int verticesNumber, EdgeList<Edge> edges) {
         this.setVerticesNumber(verticesNumber);
-        adjMatrix = new int[verticesNumber][verticesNumber];
+        this.edges = edges;
+    }
+
+    /**
+     * Creates the graph from a bulk loaded edge buffer in a single pass, the vertices are sorted only once
+     * when a query first needs it
+     *
+     * @param verticesNumber number of vertices
+     * @param edgeBuffer     edges of the graph
+     */
+    public Graph(int verticesNumber, EdgeBuffer edgeBuffer) {
+        this(verticesNumber);
+        VertexIndex index = new VertexIndex(verticesNumber);
+        for (int e = 0; e < edgeBuffer.size; e++) {
+            Vertice v1 = sharedVertice(index, edgeBuffer.sources[e]);
+            Vertice v2 = sharedVertice(index, edgeBuffer.destinations[e]);
+            this.edges.add(new Edge(v1, v2, edgeBuffer.weights[e]));
+        }
+
+        this.vertexIndex = index;
+        for (int i = 1; i < this.vertices.size() && this.sorted; i++)
+            this.sorted = this.vertices.get(i - 1).id < this.vertices.get(i).id;
+        this.recountDegrees();
+    }
+
+    /**
+     * Returns the vertice with the id, adding it to the end of the vertices list when it is new
+     *
+     * @param index registry of the vertices added so far
+     * @param id    vertice id
+     * @return the vertice
+     */
+    private Vertice sharedVertice(VertexIndex index, int id) {
+        int i = index.add(id);
+        if (i == this.vertices.size())
+            this.vertices.add(new Vertice(id));
+        return this.vertices.get(i);
+    }
+
+    /**
+     * Returns the compressed adjacency of the graph, vertices are indexed by their position in the vertices list
+     *
+     * @return the graph adjacency
+     */
+    public CompressedSparseRow getAdjacency() {
+        CompressedSparseRow adjacency = this.adjacency;
+        if (adjacency == null) {
+            synchronized (cacheLock) {
+                adjacency = this.adjacency;
+                if (adjacency == null)
+                    this.adjacency = adjacency = CompressedSparseRow.fromEdges(this.getVertexIndex(), this.edges,
+                            false);
+            }
+        }
+        return adjacency;
+    }
+
+    /**
+     * Returns the keys of the edges, counting how many edges link each pair of vertices
+     *
+     * @return the edge multiset
+     */
+    EdgeMultiset getEdgeKeys() {
+        EdgeMultiset edgeKeys = this.edgeKeys;
+        if (edgeKeys == null) {
+            synchronized (cacheLock) {
+                edgeKeys = this.edgeKeys;
+                if (edgeKeys == null)
+                    this.edgeKeys = edgeKeys = EdgeMultiset.of(this.edges);
+            }
+        }
+        return edgeKeys;
+    }
+
+    /**
+     * Returns the registry mapping each vertice id to its position in the vertices list, sorting the list
+     * first when vertices were added out of order
+     *
+     * @return the vertex index
+     */
+    public VertexIndex getVertexIndex() {
+        if (!sorted) {
+            synchronized (cacheLock) {
+                if (!sorted)
+                    this.sortVertices();
+            }
+        }
+        return vertexIndex;
+    }
+
+    /**
+     * Sorts the vertices list by id, moving the degrees along and renumbering the registry, once for
+     * every vertice added out of order since the last sort
+     */
+    private void sortVertices() {
+        int size = this.vertices.size();
+        int[] arrival = new int[size];
+        for (int i = 0; i < size; i++)
+            arrival[i] = this.vertices.get(i).id;
+        this.vertices.sort(Vertice::compareTo);
+        VertexIndex index = VertexIndex.of(this.vertices);
+        int[] sortedDegrees = new int[Math.max(size, 8)];
+        for (int i = 0; i < size; i++)
+            sortedDegrees[index.indexOf(arrival[i])] = this.degrees[i];
+        this.degrees = sortedDegrees;
+        this.vertexIndex = index;
+        this.adjacency = null;
+        this.sorted = true;
+    }
+
+    /**
+     * Returns the position of the vertice in the vertices list
+     *
+     * @param v vertice to be found
+     * @return the index or -1 if the vertice is not part of the graph
+     */
+    int indexOf(Vertice v) {
+        return this.getVertexIndex().indexOf(v.id);
+    }
+
+    /**
+     * Adds the vertice to the end of the vertices list if it is not part of the graph yet. Every index stays
+     * valid, a vertice out of order only marks the list to be sorted when a query needs it
+     *
+     * @param v vertice to be added
+     */
+    void registerVertice(Vertice v) {
+        int size = this.vertices.size();
+        if (this.vertexIndex.add(v.id) != size)
+            return;
+
+        if (size > 0 && this.vertices.get(size - 1).id > v.id)
+            this.sorted = false;
+        this.vertices.add(v);
+        if (size == this.degrees.length)
+            this.degrees = Arrays.copyOf(this.degrees, Math.max(size * 2, 8));
+        this.degrees[size] = 0;
+        this.adjacency = null;
+    }
+
+    /**
+     * Updates the cached degrees with a new edge, a loop counts only once. It reads the registry as it is,
+     * so adding edges never sorts the vertices
+     *
+     * @param firstId  id of the first vertice of the edge
+     * @param secondId id of the second vertice of the edge
+     */
+    private void countDegrees(int firstId, int secondId) {
+        this.incrementDegree(this.vertexIndex.indexOf(firstId));
+        if (firstId != secondId)
+            this.incrementDegree(this.vertexIndex.indexOf(secondId));
+    }
+
+    private void incrementDegree(int index) {
+        this.oddDegrees += (++this.degrees[index] & 1) == 1 ? 1 : -1;
+    }
+
+    /**
+     * Computes every cached degree again from the edges list, used after bulk changes
+     */
+    void recountDegrees() {
+        this.degrees = new int[Math.max(this.vertices.size(), 8)];
+        this.oddDegrees = 0;
+        for (int e = 0; e < this.edges.size(); e++)
+            this.countDegrees(this.edges.firstId(e), this.edges.secondId(e));
+    }
+
+    /**
+     * Saves the graph as a binary snapshot
+     *
+     * @param path     snapshot file
+     * @param checksum if a checksum should be written and verified when loading
+     * @throws IOException if an I/O exception happens
+     */
+    public void save(Path path, boolean checksum) throws IOException {
+        GraphSnapshot.save(this, path, checksum);
+    }
+
+    /**
+     * Loads a graph saved as a binary snapshot
+     *
+     * @param path snapshot file
+     * @return the graph
+     * @throws IOException if an I/O exception happens or the file is not a valid snapshot
+     */
+    public static Graph load(Path path) throws IOException {
+        return GraphSnapshot.loadGraph(path);
+    }
+
+    /**
+     * Returns the minimum spanning tree built with Kruskal's algorithm, without printing anything
+     *
+     * @return the tree or null if the graph is not connected
+     */
+    public MinimumSpanningTree getMinimumSpanningTree() {
+        return this.spanning(MinimumSpanningTree.kruskal(this));
+    }
+
+    /**
+     * Returns one minimum spanning tree for each connected component, built with a single Kruskal pass and
+     * no connectivity check. The result also tells the component of each vertice and its size
+     *
+     * @return the forest
+     */
+    public MinimumSpanningTree getMinimumSpanningForest() {
+        return MinimumSpanningTree.kruskal(this);
+    }
+
+    /**
+     * Returns the minimum spanning tree built with Prim's algorithm, without printing anything
+     *
+     * @param v1 start vertice index
+     * @return the tree or null if the graph is not connected
+     */
+    public MinimumSpanningTree getMinimumSpanningTree(int v1) {
+        if (this.vertices.isEmpty())
+            return null;
+        return this.spanning(MinimumSpanningTree.prim(this.getAdjacency(), v1));
+    }
+
+    /**
+     * Returns the minimum spanning tree built with Boruvka's algorithm on several threads, the same tree
+     * Kruskal's algorithm returns
+     *
+     * @param parallelism number of threads
+     * @return the tree or null if the graph is not connected
+     */
+    public MinimumSpanningTree getParallelMinimumSpanningTree(int parallelism) {
+        return this.spanning(MinimumSpanningTree.boruvka(this, parallelism));
+    }
+
+    // the tree spans the graph when it is a single tree and no declared vertice is missing from the edges
+    private MinimumSpanningTree spanning(MinimumSpanningTree tree) {
+        boolean connected = this.vertices.isEmpty() ? verticesNumber == 0
+                : tree.getTreesNumber() == 1 && this.vertices.size() >= verticesNumber;
+        return connected ? tree : null;
     }
 
     // print minimum spanning tree - kruskal's algorithm
     public void printMinimumSpanningTree() {
-        if (this.isConnected())
-            this.minimumSpanningTree = new MinimumSpanningTree(this);
+        this.minimumSpanningTree = this.getMinimumSpanningTree();
+        if (this.minimumSpanningTree != null)
+            MinimumSpanningTreeFormatter.print(this.minimumSpanningTree, System.out);
         else
             System.out.println("Cannot print MST - Kruskal because the graph is not connected");
     }
 
+    // print minimum spanning forest - one kruskal tree for each connected component
+    public void printMinimumSpanningForest() {
+        this.minimumSpanningTree = this.getMinimumSpanningForest();
+        MinimumSpanningTreeFormatter.print(this.minimumSpanningTree, System.out);
+    }
+
     // print minimum spanning tree - prim's algorithm
     public void printMinimumSpanningTree(int v1) {
-        if (this.isConnected())
-            this.minimumSpanningTree = new MinimumSpanningTree(this.adjMatrix, this.vertices.indexOf(this.vertices.get(v1)));
+        this.minimumSpanningTree = this.getMinimumSpanningTree(v1);
+        if (this.minimumSpanningTree != null)
+            MinimumSpanningTreeFormatter.print(this.minimumSpanningTree, System.out);
         else
             System.out.println("Cannot print MST - Prim because the graph is not connected");
     }
 
-    void addEdgeToAdjMatrix(Edge e) {
-        adjMatrix[e.vertices.get(0).getValue() - 1][e.vertices.get(1).getValue() - 1] = e.weight;
-        adjMatrix[e.vertices.get(1).getValue() - 1][e.vertices.get(0).getValue() - 1] = e.weight;
-//        adjMatrix[this.vertices.indexOf(e.vertices.get(0))][this.vertices.indexOf(e.vertices.get(1))] = e.weight;
-//        adjMatrix[this.vertices.indexOf(e.vertices.get(1))][this.vertices.indexOf(e.vertices.get(0))] = e.weight;
+    // print minimum spanning tree - boruvka's algorithm on several threads
+    public void printParallelMinimumSpanningTree(int parallelism) {
+        this.minimumSpanningTree = this.getParallelMinimumSpanningTree(parallelism);
+        if (this.minimumSpanningTree != null)
+            MinimumSpanningTreeFormatter.print(this.minimumSpanningTree, System.out);
+        else
+            System.out.println("Cannot print MST - Boruvka because the graph is not connected");
     }
 
     // utility function to print adjacency matrix
     public void printAdjMatrix() {
+        int[][] adjMatrix = this.getAdjacency().toMatrix();
 
         System.out.print("\t");
         for (int i = 0; i < adjMatrix.length; i++)
@@ -75,8 +343,12 @@ public class Graph {
     public void addEdgeFromString(String edgeString) {
         Edge e = new Edge(edgeString);
         this.edges.add(e);
-        this.updateVertices();
-        this.addEdgeToAdjMatrix(e);
+        if (this.edgeKeys != null)
+            this.edgeKeys.add(e.key);
+        this.registerVertice(e.vertices.get(0));
+        this.registerVertice(e.vertices.get(1));
+        this.countDegrees(e.vertices.get(0).id, e.vertices.get(1).id);
+        this.adjacency = null;
     }
 
     /**
@@ -86,8 +358,14 @@ public class Graph {
      * @param v2 second edge
      */
     void addEdge(Vertice v1, Vertice v2) {
-        this.edges.add(new Edge(v1, v2));
-        this.updateVertices();
+        Edge e = new Edge(v1, v2);
+        this.edges.add(e);
+        if (this.edgeKeys != null)
+            this.edgeKeys.add(e.key);
+        this.registerVertice(v1);
+        this.registerVertice(v2);
+        this.countDegrees(v1.id, v2.id);
+        this.adjacency = null;
     }
 
     /**
@@ -97,11 +375,7 @@ public class Graph {
      * @return if the edge is inside the edges list ignoring it's weight
      */
     boolean edgesContainsIgnoringWeight(Edge e) {
-        boolean contains = false;
-        for (Edge edge : this.edges)
-            if (edge.equalsIgnoreWeight(e))
-                contains = true;
-        return contains;
+        return this.getEdgeKeys().contains(e.key);
     }
 
     /**
@@ -110,41 +384,36 @@ public class Graph {
      * @param v1 vertice to be added
      */
     public void addIsolatedVertice(Vertice v1) {
-        if (!this.vertices.contains(v1)) this.vertices.add(v1);
+        this.registerVertice(v1);
     }
 
     /**
-     * Removes vertices from graph
-     *
-     * @param v vertice to be removed
-     * @return list of edges removed
+     * Update vertices list
      */
-    List<Edge> removeVertice(Vertice v) {
-        List<Edge> toBeRemovedEdges = new ArrayList<>();
+    public void updateVertices() {
         for (Edge e : this.edges) {
-            if (e.vertices.contains(v)) {
-                toBeRemovedEdges.add(e);
-            }
+            this.registerVertice(e.vertices.get(0));
+            this.registerVertice(e.vertices.get(1));
         }
-        this.edges.removeAll(toBeRemovedEdges);
-        return toBeRemovedEdges;
     }
 
     /**
-     * Update vertices list
+     * Adds the vertices declared in the vertices number but not used by any edge, that is, every id from
+     * 1 to verticesNumber that is not part of the graph yet
      */
-    public void updateVertices() {
-        this.edges.forEach(e -> e.vertices.forEach(v -> {
-            if (!this.vertices.contains(v)) this.vertices.add(v);
-        }));
-
-        this.vertices.sort(Vertice::compareTo);
-    }
-
     public void finalVertice() {
-        int isolatedVertices = this.verticesNumber - this.vertices.size();
-        for (int i = 1; i <= isolatedVertices; i++)
-            this.vertices.add(new Vertice(this.vertices.size() + i));
+        boolean[] present = new boolean[verticesNumber + 1];
+        for (Vertice v : this.vertices)
+            if (v.id >= 1 && v.id <= verticesNumber)
+                present[v.id] = true;
+        for (int id = 1; id <= verticesNumber; id++)
+            if (!present[id])
+                this.vertices.add(new Vertice(id));
+        this.vertices.sort(Vertice::compareTo);
+        this.vertexIndex = VertexIndex.of(this.vertices);
+        this.sorted = true;
+        this.adjacency = null;
+        this.recountDegrees();
     }
 
     /**
@@ -155,14 +424,7 @@ public class Graph {
      * @return if they are adjacent or not
      */
     public boolean isAdjacent(Vertice v1, Vertice v2) {
-        Edge testEdge = new Edge(v1, v2);
-        boolean isAdjacent = false;
-        for (Edge edge : edges)
-            if (testEdge.equalsIgnoreWeight(edge)) {
-                isAdjacent = true;
-                break;
-            }
-        return isAdjacent;
+        return this.getEdgeKeys().contains(Edge.key(v1.id, v2.id));
     }
 
     /**
@@ -172,9 +434,8 @@ public class Graph {
      * @return vertice degree or -1 if vertice is not part of the graph
      */
     public int getDegree(Vertice v1) {
-        return this.vertices.contains(v1)
-                ? (int) this.edges.stream().filter(edge -> edge.vertices.contains(v1)).count()
-                : -1;
+        int index = this.indexOf(v1);
+        return index != -1 ? this.degrees[index] : -1;
     }
 
     /**
@@ -183,12 +444,7 @@ public class Graph {
      * @return returns true or false
      */
     public boolean isEulerian() {
-        for (Vertice vertice : vertices) {
-            if (getDegree(vertice) % 2 != 0) {
-                return false;
-            }
-        }
-        return this.isConnected();
+        return this.oddDegrees == 0 && this.isConnected();
     }
 
     /**
@@ -207,34 +463,41 @@ public class Graph {
      * @return if the graph is unicursal
      */
     public boolean isUnicursal() {
-        int cont = 0;
-        for (Vertice vertice : vertices) {
-            if (getDegree(vertice) % 2 != 0) {
-                cont++;
-            }
-        }
-        return cont == 2 && this.isConnected();
+        return this.oddDegrees == 2 && this.isConnected();
     }
 
     /**
      * Given two graphs with the same vertices, the complementary of the first graph will have all
-     * edges it didn't have
+     * edges it didn't have. It is built from a bit matrix, so the graph can have at most 370 703 vertices,
+     * far more than the complementary edges a graph can hold
      *
      * @return the complementary Graph from this
+     * @throws IllegalArgumentException if the graph has too many vertices for the bit matrix
      */
     public Graph getComplementary() {
+        BitsetAdjacency complement = this.getComplementaryView();
         Graph newGraph = new Graph(verticesNumber, this.vertices);
 
-        for (Vertice v1 : this.vertices)
-            for (Vertice v2 : this.vertices)
-                if (!v1.equals(v2)
-                        && !this.edgesContainsIgnoringWeight(new Edge(v1, v2))
-                        && !newGraph.edges.contains(new Edge(v1, v2)))
-                    newGraph.addEdge(v1, v2);
-
+        // each non-directed edge once, from the smaller index, reading the inverted rows a word at a time
+        int n = this.vertices.size();
+        for (int u = 0; u < n; u++)
+            for (int v = complement.nextNeighbour(u, u + 1); v != -1; v = complement.nextNeighbour(u, v + 1))
+                newGraph.edges.add(new Edge(this.vertices.get(u), this.vertices.get(v)));
+        newGraph.recountDegrees();
         return newGraph;
     }
 
+    /**
+     * Returns the complementary of the graph as a view over the bit matrix of its adjacency, without
+     * creating any edge. Vertices are indexed by their position in the vertices list
+     *
+     * @return the complementary adjacency
+     * @throws IllegalArgumentException if the graph has more than 370 703 vertices
+     */
+    public BitsetAdjacency getComplementaryView() {
+        return BitsetAdjacency.of(this.getAdjacency()).complement();
+    }
+
     /**
      * Returns if the vertice is pending or not
      *
@@ -251,18 +514,12 @@ public class Graph {
      * @return if the graph is regular or not
      */
     public boolean isRegular() {
+        this.getVertexIndex(); // sorts pending vertices before reading the degrees
         if (!this.isNull()){
-            List<Integer> degrees = new ArrayList<>();
-            this.vertices.forEach(vertice -> degrees.add(this.getDegree(vertice)));
-            boolean isRegular = true;
-            int firstDegree = degrees.get(0);
-            for (int degree : degrees) {
-                if (degree != firstDegree) {
-                    isRegular = false;
-                    break;
-                }
-            }
-            return isRegular;
+            for (int i = 1; i < this.vertices.size(); i++)
+                if (this.degrees[i] != this.degrees[0])
+                    return false;
+            return true;
         }
         return false;
     }
@@ -283,8 +540,8 @@ public class Graph {
      */
     boolean hasLoops() {
         boolean hasLoops = false;
-        for (Edge edge : this.edges) {
-            if (edge.vertices.get(0).equals(edge.vertices.get(1))) {
+        for (int e = 0; e < this.edges.size(); e++) {
+            if (this.edges.isLoop(e)) {
                 hasLoops = true;
                 break;
             }
@@ -298,26 +555,8 @@ public class Graph {
      * @return if the graph has parallel edges or not
      */
     boolean hasParallelEdges() {
-        boolean hasParallelEdges = false;
-        // for each edge, check if there is another edge linking its vertices
-        List<Edge> filteredEdges = new ArrayList<>(this.edges);
-        int loopCount = 0;
-        for (Edge testEdge : this.edges) {
-            // check if current tested edge exists in remaining edges
-            if (loopCount != 0) {
-                filteredEdges.clear();
-                filteredEdges.addAll(this.edges);
-            }
-            filteredEdges.remove(testEdge);
-            for (Edge edge : filteredEdges) {
-                if (edge.equalsIgnoreWeight(testEdge)) {
-                    hasParallelEdges = true;
-                    break;
-                }
-            }
-            loopCount++;
-        }
-        return hasParallelEdges;
+        // parallel edges share their key, so there are fewer distinct keys than edges
+        return this.getEdgeKeys().size() < this.edges.size();
     }
 
     /**
@@ -337,6 +576,7 @@ public class Graph {
     public boolean isComplete() {
         // for each vertice, check if it is adjacent to all other vertices
         if (this.isSimple()) {
+            this.getVertexIndex(); // sorts pending vertices before reading them
             List<Vertice> filteredVertices = new ArrayList<>(this.vertices);
             int loopCount = 0;
             for (Vertice testVertice : this.vertices) {
@@ -359,49 +599,40 @@ public class Graph {
     }
 
     /**
-     * Depth-first search
+     * Returns if the graph is connected or not
+     *
+     * @return if the graph is connected or not
      */
-    void DepthFirstSearch(int source, boolean[] visited) {
-
-        //mark the vertice as visited
-        visited[source] = true;
-
-        List<Vertice> adjList = this.edges
-                .stream()
-                .filter(e -> e.vertices.contains(this.vertices.get(source)))
-                .map(e -> {
-                    int i = e.vertices.indexOf(this.vertices.get(source));
-                    return i == 0 ? e.vertices.get(1) : e.vertices.get(0);
-                })
-                .collect(Collectors.toList());
+    public boolean isConnected() {
+        if (this.vertices.isEmpty())
+            return verticesNumber == 0;
 
-        for (Vertice v : adjList) {
-            int index = this.vertices.indexOf(v);
-            if (!visited[index]) {
-                DepthFirstSearch(index, visited);
-            }
-        }
+        // start from vertice 0 and check if all the vertices are reached
+        int count = new Traversal(this.getAdjacency()).reachable(0);
+        return count == this.vertices.size() && count >= verticesNumber;
     }
 
     /**
-     * Returns if the graph is connected or not
+     * Returns if the graph is connected or not, labeling the components on several threads
      *
+     * @param parallelism number of threads
      * @return if the graph is connected or not
      */
-    public boolean isConnected() {
-        //created visited array
-        boolean[] visited = new boolean[verticesNumber];
-
-        // start from vertice 0
-        DepthFirstSearch(0, visited);
+    public boolean isConnected(int parallelism) {
+        if (this.vertices.isEmpty())
+            return verticesNumber == 0;
+        return this.getConnectedComponents(parallelism).getComponentsNumber() == 1
+                && this.vertices.size() >= verticesNumber;
+    }
 
-        //check if all the vertices are visited, if yes then graph is connected
-        int count = 0;
-        for (boolean b : visited) {
-            if (b)
-                count++;
-        }
-        return verticesNumber == count;
+    /**
+     * Labels the connected components of the graph on several threads
+     *
+     * @param parallelism number of threads
+     * @return the component of each vertice and their sizes, indexing vertices by their position in the vertices list
+     */
+    public ConnectedComponents getConnectedComponents(int parallelism) {
+        return new ConnectedComponents(this.getAdjacency(), parallelism);
     }
 
     /**
@@ -410,18 +641,90 @@ public class Graph {
      * @return the number of cut vertices
      */
     public int getCutVertices() {
-        int countVertices = 0;
-        for (int i = 0; i < this.vertices.size(); i++) {
-            Vertice v = this.vertices.get(i);
-            List<Edge> removedEdges = this.removeVertice(v);
-            this.setVerticesNumber(--verticesNumber);
-            this.vertices.remove(v);
-            if (!this.isConnected()) countVertices++;
-            this.edges.addAll(removedEdges);
-            this.setVerticesNumber(++verticesNumber);
-            this.vertices.add(0, v);
-        }
-        return countVertices;
+        return new Biconnectivity(this.getAdjacency()).getArticulationPointsNumber();
+    }
+
+    /**
+     * Returns the vertices whose removal disconnects their component
+     *
+     * @return the articulation points, in the vertices list order
+     */
+    public List<Vertice> getArticulationPoints() {
+        Biconnectivity biconnectivity = new Biconnectivity(this.getAdjacency());
+        List<Vertice> articulationPoints = new ArrayList<>(biconnectivity.getArticulationPointsNumber());
+        for (int i = 0; i < this.vertices.size(); i++)
+            if (biconnectivity.isArticulationPoint(i))
+                articulationPoints.add(this.vertices.get(i));
+        return articulationPoints;
+    }
+
+    /**
+     * Returns the edges whose removal disconnects their component
+     *
+     * @return the bridges
+     */
+    public List<Edge> getBridges() {
+        List<Edge> bridges = new ArrayList<>();
+        for (int edgeId : new Biconnectivity(this.getAdjacency()).getBridges())
+            bridges.add(this.edges.get(edgeId));
+        return bridges;
+    }
+
+    /**
+     * Returns a shortest paths engine over the graph, its buffers are reused by every query made with it
+     *
+     * @return the engine, indexing vertices by their position in the vertices list
+     */
+    public Dijkstra getShortestPaths() {
+        return new Dijkstra(this.getAdjacency());
+    }
+
+    /**
+     * Returns a delta-stepping shortest paths engine over the graph, running on several threads.
+     * It should be closed once the queries are done, to stop its threads
+     *
+     * @param parallelism number of threads
+     * @return the engine, indexing vertices by their position in the vertices list
+     */
+    public DeltaStepping getParallelShortestPaths(int parallelism) {
+        return new DeltaStepping(this.getAdjacency(), parallelism);
+    }
+
+    /**
+     * Returns a point-to-point search engine over the graph, with plain, bidirectional and A* modes
+     *
+     * @return the engine, indexing vertices by their position in the vertices list
+     */
+    public PointToPointSearch getPointToPointSearch() {
+        return new PointToPointSearch(this.getAdjacency(), false);
+    }
+
+    /**
+     * Preprocesses the graph into a contraction hierarchy, for many fast point-to-point queries
+     *
+     * @return the hierarchy, indexing vertices by their position in the vertices list
+     */
+    public ContractionHierarchy getContractionHierarchy() {
+        return ContractionHierarchy.build(this.getAdjacency());
+    }
+
+    /**
+     * Returns a shortest path between two vertices, using Dijkstra's algorithm stopped at the second one
+     *
+     * @param v1 first vertice
+     * @param v2 last vertice
+     * @return the vertices of the path, empty when v2 can not be reached from v1
+     */
+    public List<Vertice> getShortestPath(Vertice v1, Vertice v2) {
+        int source = this.indexOf(v1), target = this.indexOf(v2);
+        List<Vertice> path = new ArrayList<>();
+        if (source == -1 || target == -1)
+            return path;
+        Dijkstra dijkstra = this.getShortestPaths();
+        dijkstra.run(source, target);
+        for (int index : dijkstra.getPath(target))
+            path.add(this.vertices.get(index));
+        return path;
     }
 
     @Override
@@ -429,6 +732,9 @@ public class Graph {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Graph graph = (Graph) o;
+        // both vertices lists in sorted order
+        this.getVertexIndex();
+        graph.getVertexIndex();
         return verticesNumber == graph.verticesNumber &&
                 vertices.equals(graph.vertices) &&
                 edges.equals(graph.edges);
@@ -436,11 +742,13 @@ public class Graph {
 
     @Override
     public int hashCode() {
+        this.getVertexIndex();
         return Objects.hash(verticesNumber, vertices, edges);
     }
 
     @Override
     public String toString() {
+        this.getVertexIndex();
         return "Graph{" +
                 "verticesNumber=" + verticesNumber +
                 ", vertices=" + vertices +
@@ -0,0 +1,313 @@
+package models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of a graph, so it can be reloaded without parsing the text format again.
+ * Every value is a big endian int, laid out as:
+ * <pre>
+ * magic, version, flags, declared vertices number, vertices V, edges E, arcs A
+ * vertice ids[V]
+ * edge sources[E], edge destinations[E], edge weights[E]   (vertice indexes)
+ * degrees[V]   (entry degrees for a directed graph)
+ * CSR offsets[V + 1], CSR targets[A], CSR weights[A], CSR edge ids[A]
+ * CRC32 of everything above as a long, only when the checksum flag is set
+ * </pre>
+ * Loading only reads these arrays and checks their bounds: the adjacency and degrees are used as they are
+ * and edge objects are created when they are first read, see {@link EdgeList}.
+ */
+public class GraphSnapshot {
+    static final int MAGIC = 0x47524150; // "GRAP"
+    static final int VERSION = 2;
+    static final int DIRECTED = 1;
+    static final int CHECKSUM = 2;
+
+    private static final int HEADER_INTS = 7;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long MAPPING_WINDOW = 1L << 30;
+
+    private GraphSnapshot() {
+    }
+
+    /**
+     * Saves a non-directed graph
+     *
+     * @param graph    graph to be saved
+     * @param path     snapshot file
+     * @param checksum if a checksum should be written and verified when loading
+     * @throws IOException if an I/O exception happens
+     */
+    public static void save(Graph graph, Path path, boolean checksum) throws IOException {
+        write(path, checksum ? CHECKSUM : 0, graph.verticesNumber, graph.getVertexIndex(), graph.vertices,
+                graph.edges, graph.degrees, graph.getAdjacency());
+    }
+
+    /**
+     * Saves a directed graph
+     *
+     * @param graph    graph to be saved
+     * @param path     snapshot file
+     * @param checksum if a checksum should be written and verified when loading
+     * @throws IOException if an I/O exception happens
+     */
+    public static void save(DirectedGraph graph, Path path, boolean checksum) throws IOException {
+        write(path, DIRECTED | (checksum ? CHECKSUM : 0), graph.verticesNumber, graph.vertexIndex, graph.vertices,
+                graph.edges, graph.entryDegrees, graph.getAdjacency());
+    }
+
+    /**
+     * Loads a non-directed graph
+     *
+     * @param path snapshot file
+     * @return the graph
+     * @throws IOException if an I/O exception happens or the file is not a valid non-directed snapshot
+     */
+    public static Graph loadGraph(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int[] header = readHeader(channel, false);
+            Contents contents = new Contents(channel, header);
+            Vertice[] vertices = contents.vertices();
+            Graph graph = new Graph(header[3], new EdgeList<>(vertices, contents.sources, contents.destinations,
+                    contents.weights, Edge::new, false));
+            for (int i = 1; i < vertices.length; i++)
+                if (vertices[i - 1].id >= vertices[i].id)
+                    throw new IOException("Snapshot is corrupted, vertices are not sorted");
+            graph.vertices.addAll(Arrays.asList(vertices));
+            graph.vertexIndex = VertexIndex.of(graph.vertices);
+            graph.adjacency = contents.adjacency;
+            graph.degrees = contents.degrees.length > 0 ? contents.degrees : new int[8];
+            for (int degree : contents.degrees)
+                graph.oddDegrees += degree & 1;
+            return graph;
+        }
+    }
+
+    /**
+     * Loads a directed graph
+     *
+     * @param path snapshot file
+     * @return the graph
+     * @throws IOException if an I/O exception happens or the file is not a valid directed snapshot
+     */
+    public static DirectedGraph loadDirectedGraph(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int[] header = readHeader(channel, true);
+            Contents contents = new Contents(channel, header);
+            Vertice[] vertices = contents.vertices();
+            DirectedGraph graph = new DirectedGraph(header[3], new EdgeList<>(vertices, contents.sources,
+                    contents.destinations, contents.weights, DirectedEdge::new, true));
+            for (Vertice v : vertices) {
+                if (graph.vertexIndex.add(v.id) != graph.vertices.size())
+                    throw new IOException("Snapshot is corrupted, vertice " + v.id + " is stored twice");
+                graph.vertices.add(v);
+            }
+            graph.adjacency = contents.adjacency;
+            // only the arcs leaving each vertice are in the adjacency, so its rows give the exit degrees
+            int[] offsets = contents.adjacency.offsets;
+            graph.exitDegrees = new int[Math.max(vertices.length, 8)];
+            for (int v = 0; v < vertices.length; v++)
+                graph.exitDegrees[v] = offsets[v + 1] - offsets[v];
+            graph.entryDegrees = Arrays.copyOf(contents.degrees, graph.exitDegrees.length);
+            return graph;
+        }
+    }
+
+    private static void write(Path path, int flags, int verticesNumber, VertexIndex vertexIndex,
+                              List<Vertice> vertices, EdgeList<?> edges, int[] degrees,
+                              CompressedSparseRow adjacency) throws IOException {
+        int[] ids = new int[vertices.size()];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = vertices.get(i).id;
+        int[] sources = new int[edges.size()];
+        int[] destinations = new int[edges.size()];
+        int[] weights = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            sources[e] = vertexIndex.indexOf(edges.firstId(e));
+            destinations[e] = vertexIndex.indexOf(edges.secondId(e));
+            weights[e] = edges.weight(e);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new Writer(channel);
+            writer.writeInts(new int[]{MAGIC, VERSION, flags, verticesNumber, ids.length, edges.size(),
+                    adjacency.getArcsNumber()});
+            writer.writeInts(ids);
+            writer.writeInts(sources);
+            writer.writeInts(destinations);
+            writer.writeInts(weights);
+            writer.writeInts(Arrays.copyOf(degrees, ids.length));
+            writer.writeInts(adjacency.offsets);
+            writer.writeInts(adjacency.targets);
+            writer.writeInts(adjacency.weights);
+            writer.writeInts(adjacency.edgeIds);
+            writer.flush();
+            if ((flags & CHECKSUM) != 0) {
+                ByteBuffer checksum = ByteBuffer.allocate(Long.BYTES).putLong(writer.crc.getValue()).flip();
+                while (checksum.hasRemaining())
+                    channel.write(checksum);
+            }
+        }
+    }
+
+    // reads and validates the header: magic, version, flags, declared vertices number, V, E, A
+    private static int[] readHeader(FileChannel channel, boolean directed) throws IOException {
+        if (channel.size() < HEADER_INTS * Integer.BYTES)
+            throw new IOException("Snapshot is too small");
+        int[] header = readInts(channel, 0, HEADER_INTS);
+        if (header[0] != MAGIC)
+            throw new IOException("Not a graph snapshot");
+        if (header[1] != VERSION)
+            throw new IOException("Unsupported snapshot version " + header[1]);
+        if (((header[2] & DIRECTED) != 0) != directed)
+            throw new IOException(directed ? "Snapshot holds a non-directed graph" : "Snapshot holds a directed graph");
+        if (header[4] < 0 || header[5] < 0 || header[6] < 0)
+            throw new IOException("Snapshot is corrupted, negative sizes in the header");
+
+        long payload = payloadSize(header);
+        long expected = payload + ((header[2] & CHECKSUM) != 0 ? Long.BYTES : 0);
+        if (channel.size() != expected)
+            throw new IOException("Snapshot size is " + channel.size() + " bytes, expected " + expected);
+        if ((header[2] & CHECKSUM) != 0)
+            verifyChecksum(channel, payload);
+        return header;
+    }
+
+    private static long payloadSize(int[] header) {
+        long ints = HEADER_INTS + 2L * header[4] + 3L * header[5] + (header[4] + 1L) + 3L * header[6];
+        return ints * Integer.BYTES;
+    }
+
+    static void verifyChecksum(FileChannel channel, long payload) throws IOException {
+        CRC32 crc = new CRC32();
+        for (long position = 0; position < payload; position += MAPPING_WINDOW)
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_WINDOW, payload - position)));
+        long stored = channel.map(FileChannel.MapMode.READ_ONLY, payload, Long.BYTES).getLong();
+        if (stored != crc.getValue())
+            throw new IOException("Snapshot checksum does not match, the file is corrupted");
+    }
+
+    // maps the region window by window and copies it straight into an int array
+    static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        int[] values = new int[count];
+        int read = 0;
+        while (read < count) {
+            int length = (int) Math.min(count - read, MAPPING_WINDOW / Integer.BYTES);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    position + (long) read * Integer.BYTES, (long) length * Integer.BYTES);
+            window.asIntBuffer().get(values, read, length);
+            read += length;
+        }
+        return values;
+    }
+
+    /**
+     * Arrays stored after the header, with their bounds checked so a corrupted file without checksum
+     * is refused instead of failing later with an index out of bounds
+     */
+    private static class Contents {
+        final int[] ids;
+        final int[] sources;
+        final int[] destinations;
+        final int[] weights;
+        final int[] degrees;
+        final CompressedSparseRow adjacency;
+
+        Contents(FileChannel channel, int[] header) throws IOException {
+            int verticesCount = header[4], edgesCount = header[5], arcsCount = header[6];
+            long position = HEADER_INTS * Integer.BYTES;
+
+            ids = readInts(channel, position, verticesCount);
+            position += (long) verticesCount * Integer.BYTES;
+            sources = readInts(channel, position, edgesCount);
+            position += (long) edgesCount * Integer.BYTES;
+            destinations = readInts(channel, position, edgesCount);
+            position += (long) edgesCount * Integer.BYTES;
+            weights = readInts(channel, position, edgesCount);
+            position += (long) edgesCount * Integer.BYTES;
+            degrees = readInts(channel, position, verticesCount);
+            position += (long) verticesCount * Integer.BYTES;
+            int[] offsets = readInts(channel, position, verticesCount + 1);
+            position += (long) (verticesCount + 1) * Integer.BYTES;
+            int[] targets = readInts(channel, position, arcsCount);
+            position += (long) arcsCount * Integer.BYTES;
+            int[] arcWeights = readInts(channel, position, arcsCount);
+            position += (long) arcsCount * Integer.BYTES;
+            int[] edgeIds = readInts(channel, position, arcsCount);
+
+            checkBounds(sources, verticesCount, "edge sources");
+            checkBounds(destinations, verticesCount, "edge destinations");
+            checkBounds(targets, verticesCount, "arc targets");
+            checkBounds(edgeIds, edgesCount, "arc edge ids");
+            if (offsets[0] != 0 || offsets[verticesCount] != arcsCount)
+                throw new IOException("Snapshot is corrupted, adjacency offsets do not cover the arcs");
+            for (int v = 0; v < verticesCount; v++)
+                if (offsets[v] > offsets[v + 1])
+                    throw new IOException("Snapshot is corrupted, adjacency offsets are not sorted");
+            // each arc is counted once, by its source in a non-directed graph or by its target in a directed one
+            long degreesSum = 0;
+            for (int degree : degrees) {
+                if (degree < 0)
+                    throw new IOException("Snapshot is corrupted, negative degree");
+                degreesSum += degree;
+            }
+            if (degreesSum != arcsCount)
+                throw new IOException("Snapshot is corrupted, degrees do not match the arcs");
+            adjacency = new CompressedSparseRow(offsets, targets, arcWeights, edgeIds);
+        }
+
+        private static void checkBounds(int[] values, int bound, String name) throws IOException {
+            for (int value : values)
+                if (value < 0 || value >= bound)
+                    throw new IOException("Snapshot is corrupted, " + name + " out of bounds");
+        }
+
+        Vertice[] vertices() {
+            Vertice[] vertices = new Vertice[ids.length];
+            for (int i = 0; i < ids.length; i++)
+                vertices[i] = new Vertice(ids[i]);
+            return vertices;
+        }
+    }
+
+    /**
+     * Buffered int writer that keeps a CRC32 of everything written
+     */
+    static class Writer {
+        final FileChannel channel;
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        final CRC32 crc = new CRC32();
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeInts(int[] values) throws IOException {
+            int written = 0;
+            while (written < values.length) {
+                int length = Math.min(values.length - written, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, written, length);
+                buffer.position(buffer.position() + length * Integer.BYTES);
+                written += length;
+                if (buffer.remaining() < Integer.BYTES)
+                    flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+    }
+}
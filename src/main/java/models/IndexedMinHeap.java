@@ -0,0 +1,141 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of vertice indexes keyed by long priorities, supporting decrease-key.
+ * The position of every vertice in the heap is tracked, so updates cost O(log n) and clearing only
+ * touches the vertices still inside the heap. Ties are broken by the smaller vertice index.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position; // -1 when the vertice is not in the heap
+    private final long[] keys;
+    private int size;
+
+    /**
+     * Creates a heap for vertice indexes from 0 to capacity - 1
+     *
+     * @param capacity number of vertices
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int v) {
+        return position[v] != -1;
+    }
+
+    /**
+     * Returns the key of a vertice inside the heap
+     *
+     * @param v vertice index
+     * @return its key
+     */
+    public long getKey(int v) {
+        return keys[v];
+    }
+
+    /**
+     * Returns the vertice with the smallest key without removing it
+     *
+     * @return the vertice index
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Inserts the vertice, or lowers its key when it is already in the heap with a bigger one
+     *
+     * @param v   vertice index
+     * @param key new key
+     * @return if the heap changed
+     */
+    public boolean insertOrDecrease(int v, long key) {
+        if (position[v] == -1) {
+            keys[v] = key;
+            heap[size] = v;
+            position[v] = size;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[v]) {
+            keys[v] = key;
+            siftUp(position[v]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the vertice with the smallest key
+     *
+     * @return the vertice index
+     */
+    public int poll() {
+        int min = heap[0];
+        position[min] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Removes every vertice, so the heap can be reused without allocating
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(v, heap[parent]))
+                break;
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child]))
+                child++;
+            if (!less(heap[child], v))
+                break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+}
@@ -2,188 +2,324 @@ package models;
 
 import java.util.Arrays;
 
+/**
+ * Result of a minimum spanning tree algorithm. The tree edges, total weight and parent of each vertice
+ * are kept as primitives, vertices are referenced by their index in the graph adjacency.
+ * Nothing is printed while building it, see {@link MinimumSpanningTreeFormatter}.
+ */
 public class MinimumSpanningTree {
-    Graph graph;
-    Edge[] edge;
-    int[][] adjacencyMatrix;
-    int startPrimIndex = 0;
+    public enum Algorithm {KRUSKAL, PRIM, BORUVKA}
+
+    final Algorithm algorithm;
+    final int[] sources;  // first vertice of each tree edge, in the order the edges were picked
+    final int[] targets;  // second vertice of each tree edge
+    final int[] weights;  // weight of each tree edge
+    final int[] edgeIds;  // graph edge each tree edge came from
+    final int[] parent;   // vertice each vertice hangs from, -1 for roots
+    final long totalWeight;
+    final int[] components;      // tree each vertice belongs to, numbered by their smallest vertice
+    final int[] componentSizes;  // number of vertices of each tree
+    final int[] componentEdges;  // tree edge positions grouped by tree
+    final int[] componentOffsets; // edges of tree c go from componentOffsets[c] to componentOffsets[c + 1]
+
+    // below this many edges a sequential sort is faster than forking
+    static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
 
-    // get MST with Kruskal's algorithm
-    public MinimumSpanningTree(Graph graph) {
-        this.graph = graph;
-        edge = new Edge[graph.edges.size()];
-        for (int i = 0; i < graph.edges.size(); ++i)
-            edge[i] = graph.edges.get(i);
-        this.printKruskal();
+    /**
+     * Creates the result from the picked edges
+     *
+     * @param algorithm algorithm that built the tree
+     * @param sources   first vertice of each tree edge
+     * @param targets   second vertice of each tree edge
+     * @param weights   weight of each tree edge
+     * @param edgeIds   graph edge each tree edge came from
+     * @param parent    vertice each vertice hangs from, -1 for roots
+     */
+    MinimumSpanningTree(Algorithm algorithm, int[] sources, int[] targets, int[] weights, int[] edgeIds, int[] parent) {
+        this.algorithm = algorithm;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeIds = edgeIds;
+        this.parent = parent;
+        long total = 0;
+        for (int weight : weights)
+            total += weight;
+        this.totalWeight = total;
+
+        // label the trees following the parent links, each vertice is walked once
+        int n = parent.length;
+        this.components = new int[n];
+        Arrays.fill(components, -1);
+        int componentsNumber = 0;
+        for (int v = 0; v < n; v++) {
+            int root = v;
+            while (components[root] == -1 && parent[root] != -1)
+                root = parent[root];
+            if (components[root] == -1)
+                components[root] = componentsNumber++;
+            for (int u = v; components[u] == -1; u = parent[u])
+                components[u] = components[root];
+        }
+        this.componentSizes = new int[componentsNumber];
+        for (int component : components)
+            componentSizes[component]++;
+
+        this.componentOffsets = new int[componentsNumber + 1];
+        for (int source : sources)
+            componentOffsets[components[source] + 1]++;
+        for (int c = 0; c < componentsNumber; c++)
+            componentOffsets[c + 1] += componentOffsets[c];
+        this.componentEdges = new int[sources.length];
+        int[] cursor = Arrays.copyOf(componentOffsets, componentsNumber);
+        for (int e = 0; e < sources.length; e++)
+            componentEdges[cursor[components[sources[e]]]++] = e;
     }
 
-    // get MST with Prim's algorithm
     /**
-     * create MST with Prim's algorithm
+     * get MST with Kruskal's algorithm
      *
-     * @param v1 start vertice
+     * @param graph non-directed graph
+     * @return the tree, or a spanning forest when the graph is not connected
      */
-    public MinimumSpanningTree(int[][] graph, int v1) {
-        this.adjacencyMatrix = graph;
-        this.startPrimIndex = v1;
-        this.printPrim();
+    static MinimumSpanningTree kruskal(Graph graph) {
+        int[][] edges = indexedEdges(graph);
+        return kruskal(graph.getVertexIndex().size(), edges[0], edges[1], edges[2], graph.edges.size());
     }
 
-    // A utility function to print the constructed MST stored in parent[]
-    void printMSTPrim(int[] parent, int[][] graph) {
-        System.out.println("Edge \tWeight");
-        for (int i = 1; i < graph.length; i++)
-            System.out.println(parent[i] + " - " + i + "\t" + graph[i][parent[i]]);
+    /**
+     * get MST with Boruvka's algorithm on several threads
+     *
+     * @param graph       non-directed graph
+     * @param parallelism number of threads
+     * @return the tree, or a spanning forest when the graph is not connected
+     */
+    static MinimumSpanningTree boruvka(Graph graph, int parallelism) {
+        int[][] edges = indexedEdges(graph);
+        return ParallelBoruvka.run(graph.getVertexIndex().size(), edges[0], edges[1], edges[2], graph.edges.size(),
+                parallelism);
     }
 
-    // A utility function to find the vertice with minimum key value, from the set of vertices not yet included in MST
-    int minKey(int[] key, boolean[] mstSet) {
-        int min = Integer.MAX_VALUE;
-        int min_index = -1;
+    /**
+     * Copies the edges of the graph into primitive arrays, endpoints resolved to vertice indexes
+     *
+     * @param graph non-directed graph
+     * @return the sources, destinations and weights arrays
+     */
+    static int[][] indexedEdges(Graph graph) {
+        VertexIndex vertexIndex = graph.getVertexIndex();
+        int edgesNumber = graph.edges.size();
+        int[] sources = new int[edgesNumber];
+        int[] destinations = new int[edgesNumber];
+        int[] weights = new int[edgesNumber];
+        for (int e = 0; e < edgesNumber; e++) {
+            sources[e] = vertexIndex.indexOf(graph.edges.firstId(e));
+            destinations[e] = vertexIndex.indexOf(graph.edges.secondId(e));
+            weights[e] = graph.edges.weight(e);
+        }
+        return new int[][]{sources, destinations, weights};
+    }
 
-        for (int v = 0; v < adjacencyMatrix.length; v++) {
-            if (!mstSet[v] && key[v] < min) {
-                min = key[v];
-                min_index = v;
+    /**
+     * Kruskal's algorithm over primitive edge arrays. Edges are sorted as packed (weight, edge id) longs,
+     * so ties keep the edge order, and the sort runs in parallel for big edge lists
+     *
+     * @param n            number of vertices
+     * @param sources      first vertice index of each edge
+     * @param destinations second vertice index of each edge
+     * @param weights      weight of each edge
+     * @param edgesNumber  how many positions of the arrays are used
+     * @return the tree, or a spanning forest when the edges do not connect every vertice
+     */
+    static MinimumSpanningTree kruskal(int n, int[] sources, int[] destinations, int[] weights, int edgesNumber) {
+        // Step 1: Sort all the edges in non-decreasing order of their weight, the edge id never has the sign bit
+        long[] order = new long[edgesNumber];
+        for (int e = 0; e < edgesNumber; e++)
+            order[e] = (long) weights[e] << 32 | e;
+        if (edgesNumber >= PARALLEL_SORT_THRESHOLD)
+            Arrays.parallelSort(order);
+        else
+            Arrays.sort(order);
+
+        UnionFind subsets = new UnionFind(n);
+        int[] treeSources = new int[Math.max(n - 1, 0)];
+        int[] treeTargets = new int[treeSources.length];
+        int[] treeWeights = new int[treeSources.length];
+        int[] edgeIds = new int[treeSources.length];
+        int picked = 0;
+
+        // Step 2: pick the smallest edges while they do not close a cycle, a tree has V-1 edges
+        for (int i = 0; i < edgesNumber && picked < n - 1; i++) {
+            int e = (int) order[i];
+            if (subsets.union(sources[e], destinations[e])) {
+                treeSources[picked] = sources[e];
+                treeTargets[picked] = destinations[e];
+                treeWeights[picked] = weights[e];
+                edgeIds[picked++] = e;
             }
         }
 
-        return min_index;
+        treeSources = Arrays.copyOf(treeSources, picked);
+        treeTargets = Arrays.copyOf(treeTargets, picked);
+        treeWeights = Arrays.copyOf(treeWeights, picked);
+        edgeIds = Arrays.copyOf(edgeIds, picked);
+        return new MinimumSpanningTree(Algorithm.KRUSKAL, treeSources, treeTargets, treeWeights, edgeIds,
+                rootedParents(n, treeSources, treeTargets, treeWeights, picked));
     }
 
-    // print mst based on prim's algorithm
-    void printPrim() {
-        System.out.println("----- MST PRIM -----");
-        // Array to store constructed MST
-        int[] parent = new int[adjacencyMatrix.length];
-
-        // Key values used to pick minimum weight edge in cut
-        int[] key = new int[adjacencyMatrix.length];
-
-        // To represent set of vertices not yet included in MST
-        boolean[] mstSet = new boolean[adjacencyMatrix.length];
-
-        // Initialize all keys as INFINITE
-        for (int i = 0; i < adjacencyMatrix.length; i++) {
-            key[i] = Integer.MAX_VALUE;
-            mstSet[i] = false;
-        }
+    /**
+     * Prim's algorithm over the sparse adjacency with an indexed heap, O(E log V).
+     * Any weight is accepted, zero and negative ones included, since reached vertices are tracked apart from keys
+     *
+     * @param adjacency non-directed adjacency of the graph
+     * @param start     start vertice index
+     * @return the tree of the start vertice component
+     */
+    static MinimumSpanningTree prim(CompressedSparseRow adjacency, int start) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, arcTargets = adjacency.targets, arcWeights = adjacency.weights;
+        int[] parent = new int[n];
+        int[] parentWeight = new int[n];
+        int[] parentEdge = new int[n];
+        Arrays.fill(parent, -1);
+        boolean[] inTree = new boolean[n];
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        int[] sources = new int[Math.max(n - 1, 0)];
+        int[] targets = new int[sources.length];
+        int[] weights = new int[sources.length];
+        int[] edgeIds = new int[sources.length];
+        int e = 0;
+
+        // the start vertice is picked first whatever its key
+        heap.insertOrDecrease(start, Long.MIN_VALUE);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            inTree[u] = true;
+            if (parent[u] != -1) {
+                sources[e] = parent[u];
+                targets[e] = u;
+                weights[e] = parentWeight[u];
+                edgeIds[e++] = parentEdge[u];
+            }
 
-        // Always include first 1st vertex in MST.
-        key[0] = startPrimIndex; // Make key 0 so that this vertex is picked as first vertex
-        parent[0] = -1; // First node is always root of MST
-
-        // The MST will have V vertices
-        for (int count = 0; count < adjacencyMatrix.length - 1; count++) {
-            // Pick thd minimum key vertex from the set of vertices not yet included in MST
-            int u = minKey(key, mstSet);
-
-            // Add the picked vertex to the MST Set
-            mstSet[u] = true;
-
-            // Update key value and parent index of the adjacent vertices of the picked vertex.
-            // Consider only those vertices which are not yet included in MST
-            for (int v = 0; v < adjacencyMatrix.length; v++)
-                // graph[u][v] is non zero only for adjacent vertices of m
-                // mstSet[v] is false for vertices not yet included in MST
-                // Update the key only if graph[u][v] is smaller than key[v]
-                if (adjacencyMatrix[u][v] != 0 && !mstSet[v] && adjacencyMatrix[u][v] < key[v]) {
+            // update the key of the neighbours not yet in the tree when this edge is cheaper
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int v = arcTargets[arc];
+                if (!inTree[v] && heap.insertOrDecrease(v, arcWeights[arc])) {
                     parent[v] = u;
-                    key[v] = adjacencyMatrix[u][v];
+                    parentWeight[v] = arcWeights[arc];
+                    parentEdge[v] = adjacency.edgeIds[arc];
                 }
+            }
         }
-        printMSTPrim(parent, adjacencyMatrix);
-        System.out.println("-----------------");
-    }
-
-    // A class to represent a subset for union-find (kruskal)
-    class subset {
-        int parent, rank;
-    };
-
-    // A utility function to find set of an element i (uses path compression technique)
-    // path compression technique: since each element visited on the way to a root is part of the same set, all of these visited elements can be reattached directly to the root.
-    int find(subset[] subsets, int i) {
-        // find root and make root as parent of i (path compression)
-        if (subsets[i].parent != i)
-            subsets[i].parent = find(subsets, subsets[i].parent);
 
-        return subsets[i].parent;
+        return new MinimumSpanningTree(Algorithm.PRIM, Arrays.copyOf(sources, e), Arrays.copyOf(targets, e),
+                Arrays.copyOf(weights, e), Arrays.copyOf(edgeIds, e), parent);
     }
 
-    // A function that does union of two sets of x and y (uses union by rank)
-    void Union(subset subsets[], int x, int y) {
-        int xroot = find(subsets, x);
-        int yroot = find(subsets, y);
-
-        // Attach smaller rank tree under root of high rank tree
-        // (Union by Rank)
-        if (subsets[xroot].rank < subsets[yroot].rank)
-            subsets[xroot].parent = yroot;
-        else if (subsets[xroot].rank > subsets[yroot].rank)
-            subsets[yroot].parent = xroot;
+    /**
+     * Hangs every tree of the forest from its smallest vertice index
+     *
+     * @param n           number of vertices
+     * @param sources     first vertice of each tree edge
+     * @param targets     second vertice of each tree edge
+     * @param weights     weight of each tree edge
+     * @param edgesNumber number of tree edges
+     * @return the parent of each vertice, -1 for roots
+     */
+    static int[] rootedParents(int n, int[] sources, int[] targets, int[] weights, int edgesNumber) {
+        int[] parent = new int[n];
+        Traversal traversal = new Traversal(new CompressedSparseRow(n, sources, targets, weights, edgesNumber, false));
+        Traversal.Visitor recorder = new Traversal.Visitor() {
+            @Override
+            public boolean discover(int v, int from) {
+                parent[v] = from;
+                return true;
+            }
+        };
+        for (int v = 0; v < n; v++)
+            traversal.breadthFirst(v, recorder);
+        return parent;
+    }
 
-            // If ranks are same, then make one as root and increment
-            // its rank by one
-        else
-        {
-            subsets[yroot].parent = xroot;
-            subsets[xroot].rank++;
-        }
+    public Algorithm getAlgorithm() {
+        return algorithm;
     }
 
-    // get MST with Kruskal
-    void printKruskal() {
-        System.out.println("----- MST KRUSKAL -----");
+    public int getEdgesNumber() {
+        return sources.length;
+    }
 
-        Edge[] result = new Edge[graph.verticesNumber];  // This will store the resultant MST
-        int e = 0;  // An index variable, used for result[]
-        int i = 0;  // An index variable, used for sorted edges
-        for (i = 0; i < graph.verticesNumber; ++i)
-            result[i] = new Edge(0);
+    // the arrays below are returned without copying, they must not be modified
+    public int[] getSources() {
+        return sources;
+    }
 
-        // Step 1:  Sort all the edges in non-decreasing order of their weight.
-        // If we are not allowed to change the given graph, we can create a copy of array of edges
-        Arrays.sort(edge);
+    public int[] getTargets() {
+        return targets;
+    }
 
-        // Allocate memory for creating adjacencyMatrix.length subsets
-        subset[] subsets = new subset[graph.verticesNumber];
-        for (i = 0; i < graph.verticesNumber; ++i)
-            subsets[i] = new subset();
+    public int[] getWeights() {
+        return weights;
+    }
 
-        // Create V subsets with single elements
-        for (int v = 0; v < graph.verticesNumber; ++v) {
-            subsets[v].parent = v;
-            subsets[v].rank = 0;
-        }
+    public int[] getEdgeIds() {
+        return edgeIds;
+    }
 
-        i = 0;  // Index used to pick next edge
+    public int[] getParent() {
+        return parent;
+    }
 
-        // Number of edges to be taken is equal to V-1
-        while (e < graph.verticesNumber - 1) {
-            // Step 2: Pick the smallest edge and increment the index for next iteration
-            Edge next_edge = new Edge(0);
-            next_edge = edge[i++];
+    public long getTotalWeight() {
+        return totalWeight;
+    }
 
-            // x = source and y = destination
-            int x = find(subsets, graph.vertices.indexOf(next_edge.vertices.get(0)));
-            int y = find(subsets, graph.vertices.indexOf(next_edge.vertices.get(1)));
+    /**
+     * Returns the number of trees in the result, 1 when it spans a connected graph.
+     * Each tree is the minimum spanning tree of one connected component, isolated vertices included
+     *
+     * @return the number of trees
+     */
+    public int getTreesNumber() {
+        return componentSizes.length;
+    }
 
-            // If including this edge does't cause cycle, include it in result and increment the index of result for next edge
-            if (x != y) {
-                result[e++] = next_edge;
-                Union(subsets, x, y);
-            }
-            // Else discard the next_edge
-        }
+    /**
+     * Returns the tree, that is the connected component, holding the vertice
+     *
+     * @param v vertice index
+     * @return the tree id, from 0 to the number of trees - 1, in the order of their smallest vertice
+     */
+    public int getComponent(int v) {
+        return components[v];
+    }
 
-        // prints MST
-        System.out.print("" + "Edge    \tWeight\n");
-        for (i = 0; i < e; ++i) {
-            System.out.println((graph.vertices.indexOf(result[i].vertices.get(0))) + " - " + (graph.vertices.indexOf(result[i].vertices.get(1))) + "      " + result[i].weight);
-        }
+    public int getComponentSize(int component) {
+        return componentSizes[component];
+    }
 
-        System.out.println("-----------------");
+    /**
+     * Returns the edges of one tree
+     *
+     * @param component tree id
+     * @return positions of its edges in the edge arrays of the result, in the order they were picked
+     */
+    public int[] getComponentEdges(int component) {
+        return Arrays.copyOfRange(componentEdges, componentOffsets[component], componentOffsets[component + 1]);
     }
 
+    /**
+     * Returns the total weight of one tree
+     *
+     * @param component tree id
+     * @return the sum of its edge weights
+     */
+    public long getComponentWeight(int component) {
+        long total = 0;
+        for (int i = componentOffsets[component]; i < componentOffsets[component + 1]; i++)
+            total += weights[componentEdges[i]];
+        return total;
+    }
 }
@@ -0,0 +1,40 @@
+package models;
+
+import java.io.PrintStream;
+
+/**
+ * Optional text output for minimum spanning trees, kept apart so computing a tree never does I/O
+ */
+public class MinimumSpanningTreeFormatter {
+    private MinimumSpanningTreeFormatter() {
+    }
+
+    /**
+     * Formats the tree as one "u - v weight" line per edge, using vertice indexes.
+     * Forests also get the number of trees
+     *
+     * @param tree tree to be formatted
+     * @return the text
+     */
+    public static String format(MinimumSpanningTree tree) {
+        StringBuilder text = new StringBuilder();
+        text.append("----- MST ").append(tree.algorithm).append(" -----\n");
+        text.append("Edge \tWeight\n");
+        for (int e = 0; e < tree.sources.length; e++)
+            text.append(tree.sources[e]).append(" - ").append(tree.targets[e]).append('\t').append(tree.weights[e]).append('\n');
+        if (tree.getTreesNumber() > 1)
+            text.append("Trees \t").append(tree.getTreesNumber()).append('\n');
+        text.append("-----------------\n");
+        return text.toString();
+    }
+
+    /**
+     * Prints the formatted tree
+     *
+     * @param tree tree to be printed
+     * @param out  stream receiving the text
+     */
+    public static void print(MinimumSpanningTree tree, PrintStream out) {
+        out.print(format(tree));
+    }
+}
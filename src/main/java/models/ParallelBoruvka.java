@@ -0,0 +1,181 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Boruvka's minimum spanning tree algorithm on several threads. Each round the edges are split in chunks
+ * that find, in parallel, the cheapest edge leaving every component, then the components are merged
+ * with a lock-free union-find. Edges are compared as packed (weight, edge id) longs, so ties are broken
+ * the same way everywhere and the result is the same tree Kruskal's algorithm returns.
+ */
+class ParallelBoruvka {
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final int n;
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[] weights;
+    private final ConcurrentUnionFind components;
+    private final AtomicLongArray cheapest; // cheapest edge key leaving each component root
+    private final int[] accepted;
+    private final AtomicInteger acceptedNumber = new AtomicInteger();
+    private int[] alive;                     // edges that still join two different components
+    private int aliveNumber;
+
+    private ParallelBoruvka(int n, int[] sources, int[] destinations, int[] weights, int edgesNumber) {
+        this.n = n;
+        this.sources = sources;
+        this.destinations = destinations;
+        this.weights = weights;
+        this.components = new ConcurrentUnionFind(n);
+        this.cheapest = new AtomicLongArray(n);
+        this.accepted = new int[Math.max(n - 1, 0)];
+        this.alive = new int[edgesNumber];
+        for (int e = 0; e < edgesNumber; e++)
+            alive[e] = e;
+        this.aliveNumber = edgesNumber;
+        for (int v = 0; v < n; v++)
+            cheapest.set(v, NONE);
+    }
+
+    /**
+     * Builds the minimum spanning tree
+     *
+     * @param n            number of vertices
+     * @param sources      first vertice index of each edge
+     * @param destinations second vertice index of each edge
+     * @param weights      weight of each edge
+     * @param edgesNumber  how many positions of the arrays are used
+     * @param parallelism  number of threads
+     * @return the tree, or a spanning forest when the edges do not connect every vertice
+     */
+    static MinimumSpanningTree run(int n, int[] sources, int[] destinations, int[] weights, int edgesNumber,
+                                   int parallelism) {
+        ParallelBoruvka boruvka = new ParallelBoruvka(n, sources, destinations, weights, edgesNumber);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int before;
+            do {
+                before = boruvka.acceptedNumber.get();
+                boruvka.round(pool, parallelism);
+            } while (boruvka.acceptedNumber.get() != before && boruvka.aliveNumber > 0);
+        } finally {
+            pool.shutdown();
+        }
+        return boruvka.result();
+    }
+
+    /**
+     * One Boruvka round: find the cheapest edge of every component, merge along them and drop the edges
+     * that now join a component to itself
+     */
+    private void round(ForkJoinPool pool, int parallelism) {
+        int[] edges = alive;
+        int edgesNumber = aliveNumber;
+
+        List<Callable<Integer>> searches = new ArrayList<>();
+        for (int chunk = 0; chunk < parallelism; chunk++) {
+            int from = (int) ((long) edgesNumber * chunk / parallelism);
+            int to = (int) ((long) edgesNumber * (chunk + 1) / parallelism);
+            searches.add(() -> {
+                // compact the still useful edges in place, each chunk only writes inside its own range
+                int kept = from;
+                for (int i = from; i < to; i++) {
+                    int e = edges[i];
+                    int u = components.find(sources[e]), v = components.find(destinations[e]);
+                    if (u == v)
+                        continue;
+                    long key = (long) weights[e] << 32 | e;
+                    lowerTo(u, key);
+                    lowerTo(v, key);
+                    edges[kept++] = e;
+                }
+                return kept - from;
+            });
+        }
+        List<Integer> kept = invokeAll(pool, searches);
+
+        List<Callable<Integer>> merges = new ArrayList<>();
+        for (int chunk = 0; chunk < parallelism; chunk++) {
+            int from = (int) ((long) n * chunk / parallelism);
+            int to = (int) ((long) n * (chunk + 1) / parallelism);
+            merges.add(() -> {
+                for (int v = from; v < to; v++) {
+                    long key = cheapest.get(v);
+                    if (key == NONE)
+                        continue;
+                    cheapest.set(v, NONE);
+                    // both ends may pick the same edge, only the first union accepts it
+                    int e = (int) key;
+                    if (components.union(sources[e], destinations[e]))
+                        accepted[acceptedNumber.getAndIncrement()] = e;
+                }
+                return 0;
+            });
+        }
+        invokeAll(pool, merges);
+
+        // join the compacted ranges
+        int size = 0;
+        for (int chunk = 0; chunk < parallelism; chunk++) {
+            int from = (int) ((long) edgesNumber * chunk / parallelism);
+            System.arraycopy(edges, from, edges, size, kept.get(chunk));
+            size += kept.get(chunk);
+        }
+        aliveNumber = size;
+    }
+
+    // lowers the cheapest edge key of the component root when the new key is smaller
+    private void lowerTo(int root, long key) {
+        long current = cheapest.get(root);
+        while (key < current && !cheapest.compareAndSet(root, current, key))
+            current = cheapest.get(root);
+    }
+
+    private MinimumSpanningTree result() {
+        int picked = acceptedNumber.get();
+        long[] keys = new long[picked];
+        for (int i = 0; i < picked; i++)
+            keys[i] = (long) weights[accepted[i]] << 32 | accepted[i];
+        // keep the same edge order as Kruskal's algorithm
+        Arrays.parallelSort(keys);
+
+        int[] treeSources = new int[picked];
+        int[] treeTargets = new int[picked];
+        int[] treeWeights = new int[picked];
+        int[] edgeIds = new int[picked];
+        for (int i = 0; i < picked; i++) {
+            int e = (int) keys[i];
+            treeSources[i] = sources[e];
+            treeTargets[i] = destinations[e];
+            treeWeights[i] = weights[e];
+            edgeIds[i] = e;
+        }
+        return new MinimumSpanningTree(MinimumSpanningTree.Algorithm.BORUVKA, treeSources, treeTargets, treeWeights,
+                edgeIds, MinimumSpanningTree.rootedParents(n, treeSources, treeTargets, treeWeights, picked));
+    }
+
+    private static List<Integer> invokeAll(ForkJoinPool pool, List<Callable<Integer>> tasks) {
+        try {
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> task : pool.invokeAll(tasks))
+                results.add(task.get());
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package models;
+
+/**
+ * Result of a point-to-point shortest path query, with the work it took to find it
+ */
+public class PathResult {
+    final int[] path;
+    final long distance;
+    final int settledNumber;
+    final int relaxedNumber;
+
+    /**
+     * Creates the result
+     *
+     * @param path          vertice indexes from the source to the target, empty when there is no path
+     * @param distance      length of the path, Dijkstra.UNREACHABLE when there is no path
+     * @param settledNumber number of vertices taken out of the heaps
+     * @param relaxedNumber number of arcs looked at
+     */
+    PathResult(int[] path, long distance, int settledNumber, int relaxedNumber) {
+        this.path = path;
+        this.distance = distance;
+        this.settledNumber = settledNumber;
+        this.relaxedNumber = relaxedNumber;
+    }
+
+    public boolean isReachable() {
+        return distance != Dijkstra.UNREACHABLE;
+    }
+
+    // the array is returned without copying, it must not be modified
+    public int[] getPath() {
+        return path;
+    }
+
+    public long getDistance() {
+        return distance;
+    }
+
+    public int getSettledNumber() {
+        return settledNumber;
+    }
+
+    public int getRelaxedNumber() {
+        return relaxedNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "PathResult{distance=" + distance + ", vertices=" + path.length
+                + ", settled=" + settledNumber + ", relaxed=" + relaxedNumber + '}';
+    }
+}
@@ -0,0 +1,201 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point shortest path queries: plain Dijkstra, bidirectional Dijkstra and A*.
+ * Every mode reports how many vertices it settled and how many arcs it relaxed, so they can be compared.
+ * Like {@link Dijkstra}, the buffers of both search directions are allocated once and reused by every query.
+ */
+public class PointToPointSearch {
+    /**
+     * Lower bound of the distance left from a vertice to the target. A* only returns shortest paths when
+     * it never overestimates, and settles each vertice once when it is also consistent
+     */
+    public interface Heuristic {
+        long estimate(int v, int target);
+    }
+
+    /**
+     * Heuristic that knows nothing, A* then behaves as Dijkstra's algorithm
+     */
+    public static final Heuristic ZERO = (v, target) -> 0;
+
+    private final Side forward;
+    private final Side backward;
+    private int settledNumber;
+    private int relaxedNumber;
+
+    /**
+     * Prepares the buffers for the adjacency
+     *
+     * @param adjacency adjacency of the graph, arcs must not have negative weights
+     * @param directed  if the arcs only go one way, the backward search then walks the transposed adjacency
+     */
+    public PointToPointSearch(CompressedSparseRow adjacency, boolean directed) {
+        for (int weight : adjacency.weights)
+            if (weight < 0)
+                throw new IllegalArgumentException("Shortest path searches do not accept negative weights");
+        this.forward = new Side(adjacency);
+        this.backward = new Side(directed ? adjacency.transpose() : adjacency);
+    }
+
+    /**
+     * Plain Dijkstra search stopped at the target, the baseline of the other modes
+     *
+     * @param source first vertice index
+     * @param target last vertice index
+     * @return the path and the search statistics
+     */
+    public PathResult dijkstra(int source, int target) {
+        return aStar(source, target, ZERO);
+    }
+
+    /**
+     * A* search: vertices are taken out of the heap by their distance plus the heuristic estimate
+     *
+     * @param source    first vertice index
+     * @param target    last vertice index
+     * @param heuristic estimate of the distance left to the target
+     * @return the path and the search statistics
+     */
+    public PathResult aStar(int source, int target, Heuristic heuristic) {
+        settledNumber = relaxedNumber = 0;
+        Side side = forward;
+        side.start(source, heuristic.estimate(source, target));
+
+        while (!side.heap.isEmpty()) {
+            int u = side.heap.poll();
+            settledNumber++;
+            if (u == target)
+                return new PathResult(side.pathTo(target), side.distance[target], settledNumber, relaxedNumber);
+            long base = side.distance[u];
+            CompressedSparseRow adjacency = side.adjacency;
+            for (int arc = adjacency.offsets[u]; arc < adjacency.offsets[u + 1]; arc++) {
+                relaxedNumber++;
+                int v = adjacency.targets[arc];
+                long candidate = base + adjacency.weights[arc];
+                // a vertice leaves the heap again only when an inconsistent heuristic settled it too early
+                if (side.improves(v, candidate))
+                    side.update(v, candidate, u, candidate + heuristic.estimate(v, target));
+            }
+        }
+        return unreachable();
+    }
+
+    /**
+     * Bidirectional Dijkstra search: one search leaves the source, the other walks the arcs backwards from
+     * the target, always growing the one with the smaller next distance. The search stops once both next
+     * distances together reach the shortest path seen where the searches met
+     *
+     * @param source first vertice index
+     * @param target last vertice index
+     * @return the path and the search statistics
+     */
+    public PathResult bidirectional(int source, int target) {
+        settledNumber = relaxedNumber = 0;
+        forward.start(source, 0);
+        backward.start(target, 0);
+        long best = source == target ? 0 : Dijkstra.UNREACHABLE;
+        int meeting = source == target ? source : -1;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            long forwardNext = forward.heap.getKey(forward.heap.peek());
+            long backwardNext = backward.heap.getKey(backward.heap.peek());
+            if (best != Dijkstra.UNREACHABLE && forwardNext + backwardNext >= best)
+                break;
+
+            Side side = forwardNext <= backwardNext ? forward : backward;
+            Side other = side == forward ? backward : forward;
+            int u = side.heap.poll();
+            settledNumber++;
+            long base = side.distance[u];
+            CompressedSparseRow adjacency = side.adjacency;
+            for (int arc = adjacency.offsets[u]; arc < adjacency.offsets[u + 1]; arc++) {
+                relaxedNumber++;
+                int v = adjacency.targets[arc];
+                long candidate = base + adjacency.weights[arc];
+                if (side.improves(v, candidate))
+                    side.update(v, candidate, u, candidate);
+                // an arc reaching the other search closes a path from the source to the target
+                long otherDistance = other.getDistance(v);
+                if (otherDistance != Dijkstra.UNREACHABLE && candidate + otherDistance < best) {
+                    best = candidate + otherDistance;
+                    meeting = v;
+                }
+            }
+        }
+        if (meeting == -1)
+            return unreachable();
+
+        // source to the meeting vertice on the forward tree, then down the backward tree to the target
+        int[] head = forward.pathTo(meeting);
+        int length = head.length;
+        for (int v = backward.parent[meeting]; v != -1; v = backward.parent[v])
+            length++;
+        int[] path = Arrays.copyOf(head, length);
+        int i = head.length;
+        for (int v = backward.parent[meeting]; v != -1; v = backward.parent[v])
+            path[i++] = v;
+        return new PathResult(path, best, settledNumber, relaxedNumber);
+    }
+
+    private PathResult unreachable() {
+        return new PathResult(new int[0], Dijkstra.UNREACHABLE, settledNumber, relaxedNumber);
+    }
+
+    /**
+     * Buffers of one search direction, stamped with a generation like in {@link Dijkstra}
+     */
+    private static final class Side {
+        final CompressedSparseRow adjacency;
+        final long[] distance;
+        final int[] parent;
+        final int[] stamp;
+        final IndexedMinHeap heap;
+        int generation;
+
+        Side(CompressedSparseRow adjacency) {
+            int n = adjacency.verticesNumber;
+            this.adjacency = adjacency;
+            this.distance = new long[n];
+            this.parent = new int[n];
+            this.stamp = new int[n];
+            this.heap = new IndexedMinHeap(n);
+        }
+
+        void start(int source, long key) {
+            if (++generation == 0) {
+                Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            heap.clear();
+            update(source, 0, -1, key);
+        }
+
+        long getDistance(int v) {
+            return stamp[v] == generation ? distance[v] : Dijkstra.UNREACHABLE;
+        }
+
+        boolean improves(int v, long candidate) {
+            return stamp[v] != generation || candidate < distance[v];
+        }
+
+        void update(int v, long newDistance, int from, long key) {
+            stamp[v] = generation;
+            distance[v] = newDistance;
+            parent[v] = from;
+            heap.insertOrDecrease(v, key);
+        }
+
+        int[] pathTo(int target) {
+            int length = 1;
+            for (int v = target; parent[v] != -1; v = parent[v])
+                length++;
+            int[] path = new int[length];
+            for (int v = target; length > 0; v = parent[v])
+                path[--length] = v;
+            return path;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of a directed adjacency, found by an iterative Tarjan search in linear
+ * time with explicit stacks, so graphs of any depth never overflow the call stack.
+ * Components are numbered in topological order of the condensation: every arc between two components
+ * goes from a smaller id to a bigger one. The condensation DAG keeps one arc for each linked pair.
+ */
+public class StronglyConnectedComponents {
+    final int[] components;     // component of each vertice
+    final int[] componentSizes;
+    final CompressedSparseRow condensation;
+    final boolean selfLoop;
+
+    /**
+     * Runs the search over every vertice of the adjacency
+     *
+     * @param adjacency directed adjacency
+     */
+    public StronglyConnectedComponents(CompressedSparseRow adjacency) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+
+        int[] discovery = new int[n]; // 0 means not discovered yet
+        int[] low = new int[n];
+        int[] cursor = new int[n];
+        int[] callStack = new int[n];
+        int[] componentStack = new int[n];
+        long[] onComponentStack = new long[(n + 63) >>> 6];
+        int[] found = new int[n];    // component of each vertice, in the order Tarjan closes them
+        Arrays.fill(found, -1);
+        int time = 0, foundNumber = 0, componentTop = 0;
+        boolean loop = false;
+
+        for (int root = 0; root < n; root++) {
+            if (discovery[root] != 0)
+                continue;
+            int top = 0;
+            discovery[root] = low[root] = ++time;
+            cursor[root] = offsets[root];
+            callStack[top++] = root;
+            componentStack[componentTop++] = root;
+            onComponentStack[root >>> 6] |= 1L << root;
+
+            while (top > 0) {
+                int v = callStack[top - 1];
+                if (cursor[v] < offsets[v + 1]) {
+                    int to = targets[cursor[v]++];
+                    if (to == v)
+                        loop = true;
+                    if (discovery[to] == 0) {
+                        discovery[to] = low[to] = ++time;
+                        cursor[to] = offsets[to];
+                        callStack[top++] = to;
+                        componentStack[componentTop++] = to;
+                        onComponentStack[to >>> 6] |= 1L << to;
+                    } else if ((onComponentStack[to >>> 6] & (1L << to)) != 0) {
+                        low[v] = Math.min(low[v], discovery[to]);
+                    }
+                } else {
+                    top--;
+                    if (top > 0) {
+                        int parent = callStack[top - 1];
+                        low[parent] = Math.min(low[parent], low[v]);
+                    }
+                    // v is the first vertice of its component, which is everything above it on the stack
+                    if (low[v] == discovery[v]) {
+                        int w;
+                        do {
+                            w = componentStack[--componentTop];
+                            onComponentStack[w >>> 6] &= ~(1L << w);
+                            found[w] = foundNumber;
+                        } while (w != v);
+                        foundNumber++;
+                    }
+                }
+            }
+        }
+
+        // Tarjan closes components in reverse topological order
+        this.components = found;
+        this.componentSizes = new int[foundNumber];
+        for (int v = 0; v < n; v++) {
+            components[v] = foundNumber - 1 - components[v];
+            componentSizes[components[v]]++;
+        }
+        this.selfLoop = loop;
+        this.condensation = condense(adjacency, foundNumber);
+    }
+
+    // one arc for each pair of linked components, found with a last-seen marker per target component
+    private CompressedSparseRow condense(CompressedSparseRow adjacency, int componentsNumber) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+
+        // vertices grouped by component
+        int[] memberOffsets = new int[componentsNumber + 1];
+        for (int v = 0; v < n; v++)
+            memberOffsets[components[v] + 1]++;
+        for (int c = 0; c < componentsNumber; c++)
+            memberOffsets[c + 1] += memberOffsets[c];
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberOffsets, componentsNumber);
+        for (int v = 0; v < n; v++)
+            members[cursor[components[v]]++] = v;
+
+        int[] lastSeen = new int[componentsNumber];
+        Arrays.fill(lastSeen, -1);
+        int[] arcOffsets = new int[componentsNumber + 1];
+        int[] arcTargets = new int[16];
+        int arcsNumber = 0;
+        for (int c = 0; c < componentsNumber; c++) {
+            for (int i = memberOffsets[c]; i < memberOffsets[c + 1]; i++) {
+                int v = members[i];
+                for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                    int d = components[targets[arc]];
+                    if (d == c || lastSeen[d] == c)
+                        continue;
+                    lastSeen[d] = c;
+                    if (arcsNumber == arcTargets.length)
+                        arcTargets = Arrays.copyOf(arcTargets, arcsNumber * 2);
+                    arcTargets[arcsNumber++] = d;
+                }
+            }
+            arcOffsets[c + 1] = arcsNumber;
+        }
+        arcTargets = Arrays.copyOf(arcTargets, arcsNumber);
+        int[] edgeIds = new int[arcsNumber];
+        for (int arc = 0; arc < arcsNumber; arc++)
+            edgeIds[arc] = arc;
+        return new CompressedSparseRow(arcOffsets, arcTargets, new int[arcsNumber], edgeIds);
+    }
+
+    public int getComponentsNumber() {
+        return componentSizes.length;
+    }
+
+    /**
+     * Returns the component holding the vertice
+     *
+     * @param v vertice index
+     * @return the component id, components are numbered in topological order
+     */
+    public int getComponent(int v) {
+        return components[v];
+    }
+
+    public int getComponentSize(int component) {
+        return componentSizes[component];
+    }
+
+    /**
+     * Returns the condensation of the graph, where each component is a vertice
+     *
+     * @return a directed acyclic adjacency with one unweighted arc for each pair of linked components
+     */
+    public CompressedSparseRow getCondensation() {
+        return condensation;
+    }
+
+    /**
+     * Returns if the graph has a cycle, that is a component of more than one vertice or a loop
+     *
+     * @return if it has a cycle
+     */
+    public boolean hasCycle() {
+        if (selfLoop)
+            return true;
+        for (int size : componentSizes)
+            if (size > 1)
+                return true;
+        return false;
+    }
+}
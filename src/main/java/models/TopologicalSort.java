@@ -0,0 +1,39 @@
+package models;
+
+/**
+ * Kahn's topological sort on a primitive entry degree array: vertices with no arc left reaching them are
+ * taken in index order from a queue and their arcs removed, in linear time
+ */
+public class TopologicalSort {
+    private TopologicalSort() {
+    }
+
+    /**
+     * Sorts the vertices of a directed adjacency
+     *
+     * @param adjacency directed adjacency
+     * @return vertice indexes so that every arc goes from an earlier to a later one, or null if there is a cycle
+     */
+    public static int[] sort(CompressedSparseRow adjacency) {
+        int n = adjacency.verticesNumber;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        int[] entryDegrees = new int[n];
+        for (int target : targets)
+            entryDegrees[target]++;
+
+        // the order itself is the queue
+        int[] order = new int[n];
+        int tail = 0;
+        for (int v = 0; v < n; v++)
+            if (entryDegrees[v] == 0)
+                order[tail++] = v;
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++)
+                if (--entryDegrees[targets[arc]] == 0)
+                    order[tail++] = targets[arc];
+        }
+        // vertices left out are on a cycle or only reachable through one
+        return tail == n ? order : null;
+    }
+}
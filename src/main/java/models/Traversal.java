@@ -0,0 +1,189 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * Iterative depth-first and breadth-first traversal over a compressed adjacency.
+ * The stack, queue and visited bitsets are allocated once and reused by every traversal made with
+ * the same instance, so walking the graph never allocates and never recurses.
+ * Vertices stay visited between traversals until {@link #clear()} is called.
+ */
+public class Traversal {
+    /**
+     * Receives the traversal events, returning false from any of them stops the traversal
+     */
+    public interface Visitor {
+        /**
+         * Called when a vertice is reached for the first time
+         *
+         * @param v      vertice index
+         * @param parent vertice it was reached from, -1 for the source
+         * @return if the traversal should continue
+         */
+        default boolean discover(int v, int parent) {
+            return true;
+        }
+
+        /**
+         * Called when an arc points to a vertice that was already discovered
+         *
+         * @param from    vertice index the arc leaves
+         * @param to      vertice index the arc points to
+         * @param onStack if the target is still being explored (an ancestor in the depth-first tree)
+         * @return if the traversal should continue
+         */
+        default boolean revisit(int from, int to, boolean onStack) {
+            return true;
+        }
+
+        /**
+         * Called, in depth-first traversals only, once every arc leaving the vertice was explored
+         *
+         * @param v vertice index
+         * @return if the traversal should continue
+         */
+        default boolean finish(int v) {
+            return true;
+        }
+    }
+
+    private static final Visitor NONE = new Visitor() {
+    };
+
+    final CompressedSparseRow adjacency;
+    private final int[] stack;   // also used as the breadth-first queue
+    private final int[] cursor;  // next arc to be explored for each vertice on the stack
+    private final long[] visited;
+    private final long[] onStack;
+    private int visitedCount;
+
+    public Traversal(CompressedSparseRow adjacency) {
+        this.adjacency = adjacency;
+        int n = adjacency.verticesNumber;
+        this.stack = new int[n];
+        this.cursor = new int[n];
+        this.visited = new long[(n + 63) >>> 6];
+        this.onStack = new long[(n + 63) >>> 6];
+    }
+
+    /**
+     * Marks every vertice as not visited
+     */
+    public void clear() {
+        Arrays.fill(visited, 0);
+        visitedCount = 0;
+    }
+
+    public boolean isVisited(int v) {
+        return (visited[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /**
+     * Returns how many vertices were visited since the last clear
+     *
+     * @return the number of visited vertices
+     */
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Visits every vertice reachable from the source that was not visited yet
+     *
+     * @param source vertice index where the traversal starts
+     * @return the number of vertices visited by this call
+     */
+    public int reachable(int source) {
+        int before = visitedCount;
+        depthFirst(source, NONE);
+        return visitedCount - before;
+    }
+
+    /**
+     * Depth-first traversal from the source
+     *
+     * @param source  vertice index where the traversal starts
+     * @param visitor receives the traversal events
+     * @return false if the visitor stopped the traversal, true otherwise
+     */
+    public boolean depthFirst(int source, Visitor visitor) {
+        if (isVisited(source))
+            return true;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+
+        int top = 0;
+        visit(source);
+        onStack[source >>> 6] |= 1L << source;
+        cursor[source] = offsets[source];
+        stack[top++] = source;
+        boolean completed = visitor.discover(source, -1);
+
+        while (completed && top > 0) {
+            int v = stack[top - 1];
+            if (cursor[v] < offsets[v + 1]) {
+                int to = targets[cursor[v]++];
+                if (!isVisited(to)) {
+                    visit(to);
+                    onStack[to >>> 6] |= 1L << to;
+                    cursor[to] = offsets[to];
+                    stack[top++] = to;
+                    completed = visitor.discover(to, v);
+                } else {
+                    completed = visitor.revisit(v, to, (onStack[to >>> 6] & (1L << to)) != 0);
+                }
+            } else {
+                top--;
+                onStack[v >>> 6] &= ~(1L << v);
+                completed = visitor.finish(v);
+            }
+        }
+
+        // leave the stack marks clean for the next traversal when the visitor stopped early
+        while (top > 0) {
+            int v = stack[--top];
+            onStack[v >>> 6] &= ~(1L << v);
+        }
+        return completed;
+    }
+
+    /**
+     * Breadth-first traversal from the source
+     *
+     * @param source  vertice index where the traversal starts
+     * @param visitor receives the traversal events, onStack is always false
+     * @return false if the visitor stopped the traversal, true otherwise
+     */
+    public boolean breadthFirst(int source, Visitor visitor) {
+        if (isVisited(source))
+            return true;
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        int[] queue = stack;
+
+        int head = 0, tail = 0;
+        visit(source);
+        queue[tail++] = source;
+        if (!visitor.discover(source, -1))
+            return false;
+
+        while (head < tail) {
+            int v = queue[head++];
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                int to = targets[arc];
+                if (!isVisited(to)) {
+                    visit(to);
+                    queue[tail++] = to;
+                    if (!visitor.discover(to, v))
+                        return false;
+                } else if (!visitor.revisit(v, to, false)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void visit(int v) {
+        visited[v >>> 6] |= 1L << v;
+        visitedCount++;
+    }
+}
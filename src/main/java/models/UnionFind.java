@@ -0,0 +1,65 @@
+package models;
+
+/**
+ * Disjoint sets of vertice indexes kept in primitive arrays, with union by rank and path halving.
+ * Every operation is iterative, so deep chains never overflow the stack.
+ */
+public class UnionFind {
+    private final int[] parent;
+    private final byte[] rank; // a rank never goes above log2(n)
+    private int setsNumber;
+
+    /**
+     * Creates one set for each vertice index from 0 to n - 1
+     *
+     * @param n number of vertices
+     */
+    public UnionFind(int n) {
+        this.parent = new int[n];
+        this.rank = new byte[n];
+        this.setsNumber = n;
+        for (int v = 0; v < n; v++)
+            parent[v] = v;
+    }
+
+    /**
+     * Returns the root of the set holding the vertice, halving the path on the way
+     *
+     * @param v vertice index
+     * @return the root vertice index
+     */
+    public int find(int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * Joins the sets of both vertices
+     *
+     * @param u first vertice index
+     * @param v second vertice index
+     * @return false if they were already in the same set
+     */
+    public boolean union(int u, int v) {
+        int x = find(u), y = find(v);
+        if (x == y)
+            return false;
+        // attach the smaller rank tree under the root of the higher rank one
+        if (rank[x] < rank[y]) {
+            parent[x] = y;
+        } else {
+            parent[y] = x;
+            if (rank[x] == rank[y])
+                rank[x]++;
+        }
+        setsNumber--;
+        return true;
+    }
+
+    public int getSetsNumber() {
+        return setsNumber;
+    }
+}
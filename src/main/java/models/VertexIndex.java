@@ -0,0 +1,110 @@
+package models;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registry giving each vertice id a dense index, from 0 to size - 1, in the order the ids were added.
+ * It is an open addressing hash map with linear probing over primitive arrays, so lookups never box the id
+ */
+public class VertexIndex {
+    int[] ids;   // id of each dense index
+    int[] table; // dense index + 1 of the id stored in each slot, 0 when the slot is empty
+    int size;
+
+    VertexIndex() {
+        this(8);
+    }
+
+    /**
+     * Creates a registry that can hold the expected number of ids without resizing
+     *
+     * @param expectedSize expected number of ids
+     */
+    VertexIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) * 2;
+        this.ids = new int[Math.max(expectedSize, 4)];
+        this.table = new int[capacity];
+    }
+
+    /**
+     * Creates a registry where each vertice index is its position in the list
+     *
+     * @param vertices vertices to be registered
+     * @return the registry
+     */
+    static VertexIndex of(List<Vertice> vertices) {
+        VertexIndex index = new VertexIndex(vertices.size());
+        for (Vertice v : vertices)
+            index.add(v.id);
+        return index;
+    }
+
+    /**
+     * Returns the dense index of the id
+     *
+     * @param id vertice id
+     * @return the index or -1 if the id is not registered
+     */
+    public int indexOf(int id) {
+        int mask = table.length - 1;
+        for (int slot = hash(id) & mask; table[slot] != 0; slot = (slot + 1) & mask)
+            if (ids[table[slot] - 1] == id)
+                return table[slot] - 1;
+        return -1;
+    }
+
+    /**
+     * Registers the id if it is not registered yet
+     *
+     * @param id vertice id
+     * @return the dense index of the id
+     */
+    public int add(int id) {
+        int mask = table.length - 1;
+        int slot = hash(id) & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask)
+            if (ids[table[slot] - 1] == id)
+                return table[slot] - 1;
+
+        if (size == ids.length)
+            ids = Arrays.copyOf(ids, size * 2);
+        ids[size] = id;
+        table[slot] = ++size;
+        // keep the table at most half full
+        if (size * 2 > table.length)
+            rehash(table.length * 2);
+        return size - 1;
+    }
+
+    /**
+     * Returns the id registered with the dense index
+     *
+     * @param index dense index
+     * @return the vertice id
+     */
+    public int idOf(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = hash(ids[i]) & mask;
+            while (table[slot] != 0)
+                slot = (slot + 1) & mask;
+            table[slot] = i + 1;
+        }
+    }
+
+    // spreads sequential ids across the table
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
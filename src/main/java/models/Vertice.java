@@ -1,9 +1,8 @@
 package models;
 
-import java.util.Objects;
-
 public class Vertice implements Comparable<Vertice>{
-    final String name;
+    final int id;
+    final String name; // display label only, never used for identity
 
     /**
      * Makes the vertice name same as the pattern
@@ -11,18 +10,37 @@ public class Vertice implements Comparable<Vertice>{
      * @param number vertice id
      */
     public Vertice(int number) {
-        this.name = "v" + number;
+        this(number, null);
     }
 
-    int getValue() {
-        return Integer.parseInt(this.name.replace("v", "").trim());
+    /**
+     * Creates a vertice with a custom label
+     *
+     * @param number vertice id
+     * @param name   label used when printing the vertice, defaults to "v" + id
+     */
+    public Vertice(int number, String name) {
+        this.id = number;
+        this.name = name;
     }
 
     /**
      * Creates a fake vertice
      */
     Vertice() {
-        this.name = "v-1";
+        this(-1);
+    }
+
+    int getValue() {
+        return this.id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name != null ? name : "v" + id;
     }
 
     @Override
@@ -30,23 +48,23 @@ public class Vertice implements Comparable<Vertice>{
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Vertice vertice = (Vertice) o;
-        return name.equals(vertice.name);
+        return id == vertice.id;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return Integer.hashCode(id);
     }
 
     @Override
     public String toString() {
         return "Vertice{" +
-                "name='" + name + '\'' +
+                "name='" + getName() + '\'' +
                 '}';
     }
 
     @Override
     public int compareTo(Vertice o) {
-        return Integer.compare(this.name.charAt(1), o.name.charAt(1));
+        return Integer.compare(this.id, o.id);
     }
 }
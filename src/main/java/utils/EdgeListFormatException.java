@@ -0,0 +1,27 @@
+package utils;
+
+/**
+ * Thrown when a line of an edge list does not follow the format, naming the line at fault
+ */
+public class EdgeListFormatException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    final long line;
+    final String reason;
+
+    /**
+     * Creates the exception
+     *
+     * @param line   number of the line at fault, starting at 1
+     * @param reason what is wrong with the line
+     */
+    EdgeListFormatException(long line, String reason) {
+        super("Line " + line + ": " + reason);
+        this.line = line;
+        this.reason = reason;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
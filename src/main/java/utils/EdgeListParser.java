@@ -0,0 +1,182 @@
+package utils;
+
+import models.EdgeBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental parser for the edge list format: a first line holding the number of vertices followed by
+ * one "v1;v2;weight" line per edge, with a fourth ";direction" field for directed graphs. Bytes can be
+ * fed in pieces of any size, a line split between two pieces is carried over, and no String is ever created.
+ * Fields are decimal ints with an optional sign, spaces around them and a trailing semicolon are allowed,
+ * blank lines are skipped, and anything else throws an {@link EdgeListFormatException} naming the line.
+ */
+public class EdgeListParser {
+    private static final int MAX_FIELDS = 4;
+    private static final long MAX_MAGNITUDE = 1L << 31; // magnitude of Integer.MIN_VALUE
+
+    final EdgeBuffer edges;
+    final boolean directed;
+    boolean expectingHeader;
+    int verticesNumber = -1;
+    long line = 1; // number of the line being parsed, counted from the start of the parsed bytes
+
+    // state of the line being parsed
+    private final int[] fields = new int[MAX_FIELDS];
+    private int fieldsRead;
+    private boolean separated;  // if the line has a semicolon
+    private boolean emptyField; // if a field before the current one had no digits
+    private long value;
+    private boolean negative;
+    private boolean hasSign;
+    private boolean hasDigits;
+    private boolean ended;      // if a space followed the number, so it can not go on
+
+    /**
+     * Creates a parser for a whole file, so the first line is read as the number of vertices
+     *
+     * @param edges    buffer receiving the edges
+     * @param directed if lines have the direction field
+     */
+    public EdgeListParser(EdgeBuffer edges, boolean directed) {
+        this(edges, directed, true);
+    }
+
+    /**
+     * Creates a parser
+     *
+     * @param edges           buffer receiving the edges
+     * @param directed        if lines have the direction field
+     * @param expectingHeader if the first line is the number of vertices
+     */
+    public EdgeListParser(EdgeBuffer edges, boolean directed, boolean expectingHeader) {
+        this.edges = edges;
+        this.directed = directed;
+        this.expectingHeader = expectingHeader;
+    }
+
+    /**
+     * Parses a piece of the input
+     *
+     * @param bytes array holding the input
+     * @param from  first position to be parsed (inclusive)
+     * @param to    last position to be parsed (exclusive)
+     */
+    public void parse(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++)
+            accept(bytes[i]);
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer, reading them in place so a memory mapped file is never copied
+     *
+     * @param buffer buffer holding the input, its position is moved to its limit
+     */
+    public void parse(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = buffer.position(); i < limit; i++)
+            accept(buffer.get(i));
+        buffer.position(limit);
+    }
+
+    /**
+     * Must be called after the last piece, so a last line without line break is not lost
+     */
+    public void finish() {
+        endLine();
+    }
+
+    /**
+     * Returns the number of vertices read from the header
+     *
+     * @return the vertices number or -1 if no header was read
+     */
+    public int getVerticesNumber() {
+        return verticesNumber;
+    }
+
+    public EdgeBuffer getEdges() {
+        return edges;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    void accept(byte b) {
+        if (b >= '0' && b <= '9') {
+            if (ended)
+                throw error("space inside a number");
+            value = value * 10 + (b - '0');
+            if (value > MAX_MAGNITUDE)
+                throw error("number out of int range");
+            hasDigits = true;
+        } else if (b == ';') {
+            endField();
+            separated = true;
+        } else if (b == '\n') {
+            endLine();
+            line++;
+        } else if (b == ' ' || b == '\t' || b == '\r') {
+            ended = hasDigits || hasSign;
+        } else if (b == '-' || b == '+') {
+            if (hasDigits || hasSign)
+                throw error("misplaced sign");
+            hasSign = true;
+            negative = b == '-';
+        } else {
+            throw error("unexpected character " + describe(b));
+        }
+    }
+
+    private void endField() {
+        if (hasDigits) {
+            if (emptyField)
+                throw error("empty field");
+            if (!negative && value > Integer.MAX_VALUE)
+                throw error("number out of int range");
+            if (fieldsRead < MAX_FIELDS)
+                fields[fieldsRead++] = (int) (negative ? -value : value);
+        } else if (hasSign) {
+            throw error("sign without digits");
+        } else {
+            emptyField = true;
+        }
+        value = 0;
+        negative = false;
+        hasSign = false;
+        hasDigits = false;
+        ended = false;
+    }
+
+    private void endLine() {
+        endField();
+        // only empty fields at the end of a line are allowed, as a trailing semicolon
+        if (fieldsRead > 0 || separated) {
+            if (expectingHeader) {
+                if (fieldsRead != 1 || separated)
+                    throw error("expected the vertices number alone");
+                verticesNumber = fields[0];
+                expectingHeader = false;
+            } else if (fieldsRead < 3) {
+                throw error("expected at least 3 fields, found " + fieldsRead);
+            } else if (directed && fieldsRead == MAX_FIELDS && fields[3] != 1) {
+                // a direction other than 1 means the edge goes from the second vertice to the first
+                edges.add(fields[1], fields[0], fields[2]);
+            } else {
+                edges.add(fields[0], fields[1], fields[2]);
+            }
+        }
+        fieldsRead = 0;
+        separated = false;
+        emptyField = false;
+    }
+
+    private static String describe(byte b) {
+        return b >= 0x20 && b < 0x7F ? "'" + (char) b + "'" : String.format("0x%02X", b & 0xFF);
+    }
+
+    private EdgeListFormatException error(String reason) {
+        return new EdgeListFormatException(line, reason);
+    }
+}
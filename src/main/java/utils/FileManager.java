@@ -1,15 +1,24 @@
 package utils;
 
 import models.DirectedGraph;
+import models.EdgeBuffer;
 import models.Graph;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 public class FileManager {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAPPING_THRESHOLD = 1 << 20; // smaller files are cheaper to read than to map
+    private static final long MAPPING_WINDOW = 1L << 30;  // a single mapping can not exceed 2 GiB
+    private static final long PARALLEL_THRESHOLD = 1 << 25;
 
     File file;
 
@@ -18,6 +27,15 @@ public class FileManager {
         this.file = new File(Objects.requireNonNull(classLoader.getResource(fileName)).getFile());
     }
 
+    /**
+     * Creates a manager for a file outside the resources
+     *
+     * @param file file to be read
+     */
+    public FileManager(File file) {
+        this.file = file;
+    }
+
     /**
      * Reads file and return the non-directed graph created from it
      *
@@ -25,26 +43,20 @@ public class FileManager {
      * @throws IOException if an I/O exception happens
      */
     public Graph readNonDirectedGraphFile() throws IOException {
-        FileReader fr = null;
-        BufferedReader br = null;
-        Graph graph;
-
-        try {
-            fr = new FileReader(this.file);
-            br = new BufferedReader(fr);
-            int verticesNumber = Integer.parseInt(br.readLine());
-            graph = new Graph(verticesNumber);
-
-            String line;
-            while ((line = br.readLine()) != null)
-                graph.addEdgeFromString(line);
-            graph.finalVertice();
-        } finally {
-            assert br != null;
-            br.close();
-            fr.close();
-        }
+        return this.readNonDirectedGraphFile(this.defaultParallelism());
+    }
 
+    /**
+     * Reads file and return the non-directed graph created from it, parsing it with several threads
+     *
+     * @param parallelism number of threads parsing the file
+     * @return Graph created from file
+     * @throws IOException if an I/O exception happens
+     */
+    public Graph readNonDirectedGraphFile(int parallelism) throws IOException {
+        EdgeListParser parser = this.parse(false, parallelism);
+        Graph graph = new Graph(parser.getVerticesNumber(), parser.getEdges());
+        graph.finalVertice();
         return graph;
     }
 
@@ -55,25 +67,111 @@ public class FileManager {
      * @throws IOException if an I/O exception happens
      */
     public DirectedGraph readDirectedGraphFile() throws IOException {
-        FileReader fr = null;
-        BufferedReader br = null;
-        DirectedGraph graph;
+        return this.readDirectedGraphFile(this.defaultParallelism());
+    }
+
+    /**
+     * Reads file and return the directed graph created from it, parsing it with several threads
+     *
+     * @param parallelism number of threads parsing the file
+     * @return Graph created from file
+     * @throws IOException if an I/O exception happens
+     */
+    public DirectedGraph readDirectedGraphFile(int parallelism) throws IOException {
+        EdgeListParser parser = this.parse(true, parallelism);
+        return new DirectedGraph(parser.getVerticesNumber(), parser.getEdges());
+    }
+
+    /**
+     * Converts the text file into a binary snapshot, which loads much faster
+     *
+     * @param target   snapshot file to be written
+     * @param directed if the file holds a directed graph
+     * @throws IOException if an I/O exception happens
+     */
+    public void convertToSnapshot(Path target, boolean directed) throws IOException {
+        if (directed)
+            this.readDirectedGraphFile().save(target, true);
+        else
+            this.readNonDirectedGraphFile().save(target, true);
+    }
 
+    /**
+     * Feeds the whole file to the edge list parser
+     *
+     * @param directed    if lines have the direction field
+     * @param parallelism number of threads parsing the file
+     * @return the parser holding the vertices number and the edges read
+     * @throws IOException if an I/O exception happens, the file has no vertices number or a line is malformed
+     */
+    EdgeListParser parse(boolean directed, int parallelism) throws IOException {
+        EdgeListParser parser;
         try {
-            fr = new FileReader(this.file);
-            br = new BufferedReader(fr);
-            int verticesNumber = Integer.parseInt(br.readLine());
-            graph = new DirectedGraph(verticesNumber);
-
-            String line;
-            while ((line = br.readLine()) != null)
-                graph.addEdgeFromString(line);
-        } finally {
-            assert br != null;
-            br.close();
-            fr.close();
+            if (parallelism > 1) {
+                parser = ParallelEdgeListReader.read(this.file, directed, parallelism);
+            } else {
+                parser = new EdgeListParser(new EdgeBuffer(), directed);
+                if (this.file.length() >= MAPPING_THRESHOLD)
+                    this.parseMapped(parser);
+                else
+                    this.parseStream(parser);
+                parser.finish();
+            }
+        } catch (EdgeListFormatException e) {
+            throw new IOException("Invalid edge list " + this.file + ", " + e.getMessage(), e);
         }
 
-        return graph;
+        if (parser.getVerticesNumber() == -1)
+            throw new IOException("Missing vertices number in " + this.file);
+        return parser;
+    }
+
+    // only files big enough to pay for the threads are parsed in parallel
+    private int defaultParallelism() {
+        return this.file.length() >= PARALLEL_THRESHOLD ? Runtime.getRuntime().availableProcessors() : 1;
+    }
+
+    /**
+     * Reads the file in blocks and feeds them to the parser
+     *
+     * @param parser parser receiving the bytes
+     * @throws IOException if an I/O exception happens
+     */
+    void parseStream(EdgeListParser parser) throws IOException {
+        try (InputStream in = new FileInputStream(this.file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+                parser.parse(buffer, 0, read);
+        }
+    }
+
+    /**
+     * Maps the file in memory, window by window, and lets the parser read the mapped bytes in place
+     *
+     * @param parser parser receiving the bytes
+     * @throws IOException if an I/O exception happens
+     */
+    void parseMapped(EdgeListParser parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+            parseMapped(channel, 0, channel.size(), parser);
+        }
+    }
+
+    /**
+     * Maps a region of the file, window by window, and lets the parser read the mapped bytes in place
+     *
+     * @param channel channel of the file
+     * @param from    first position of the region (inclusive)
+     * @param to      last position of the region (exclusive)
+     * @param parser  parser receiving the bytes
+     * @throws IOException if an I/O exception happens
+     */
+    static void parseMapped(FileChannel channel, long from, long to, EdgeListParser parser) throws IOException {
+        for (long position = from; position < to; position += MAPPING_WINDOW) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(MAPPING_WINDOW, to - position));
+            parser.parse(window);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+package utils;
+
+import models.EdgeBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads an edge list file with several threads: the edges are split in chunks that start and end at
+ * line breaks, each chunk is parsed from the memory mapped file into its own edge buffer and the buffers
+ * are merged in file order, so the result is the same as reading it with a single thread, including the
+ * line numbers of format errors
+ */
+class ParallelEdgeListReader {
+    private static final int SCAN_SIZE = 1 << 12;
+    private static final int INITIAL_CHUNK_CAPACITY = 1 << 24;
+
+    private ParallelEdgeListReader() {
+    }
+
+    /**
+     * Reads the file
+     *
+     * @param file        file to be read
+     * @param directed    if lines have the direction field
+     * @param parallelism number of chunks parsed at the same time
+     * @return parser holding the vertices number read from the header and every edge of the file
+     * @throws IOException if an I/O exception happens
+     */
+    static EdgeListParser read(File file, boolean directed, int parallelism) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            // the header, with the blank lines before it, is parsed alone, its parser then receives the merged edges
+            EdgeListParser header = new EdgeListParser(new EdgeBuffer(), directed);
+            long dataStart = headerEnd(channel, size);
+            FileManager.parseMapped(channel, 0, dataStart, header);
+            if (dataStart == size) {
+                header.finish();
+                return header;
+            }
+
+            long[] bounds = new long[parallelism + 1];
+            bounds[0] = dataStart;
+            bounds[parallelism] = size;
+            for (int i = 1; i < parallelism; i++)
+                bounds[i] = nextLine(channel, Math.max(bounds[i - 1], dataStart + (size - dataStart) / parallelism * i),
+                        size);
+
+            List<Callable<EdgeListParser>> chunks = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                long from = bounds[i], to = bounds[i + 1];
+                chunks.add(() -> {
+                    EdgeBuffer edges = new EdgeBuffer((int) Math.min((to - from) / 8, INITIAL_CHUNK_CAPACITY));
+                    EdgeListParser parser = new EdgeListParser(edges, directed, false);
+                    FileManager.parseMapped(channel, from, to, parser);
+                    parser.finish();
+                    return parser;
+                });
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            // chunks count their lines from 1, the lines of the chunks before give the line in the file
+            long firstLine = header.getLine();
+            try {
+                List<EdgeBuffer> buffers = new ArrayList<>();
+                int edgesNumber = 0;
+                for (Future<EdgeListParser> chunk : pool.invokeAll(chunks)) {
+                    EdgeListParser parser = chunk.get();
+                    buffers.add(parser.getEdges());
+                    edgesNumber += parser.getEdges().size();
+                    firstLine += parser.getLine() - 1;
+                }
+
+                EdgeBuffer edges = header.getEdges();
+                edges.ensureCapacity(edgesNumber);
+                buffers.forEach(edges::addAll);
+                return header;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof EdgeListFormatException) {
+                    EdgeListFormatException error = (EdgeListFormatException) e.getCause();
+                    throw new EdgeListFormatException(firstLine + error.line - 1, error.reason);
+                }
+                if (e.getCause() instanceof IOException)
+                    throw (IOException) e.getCause();
+                throw new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Finds the end of the header, that is the first line holding something else than spaces
+     *
+     * @param channel channel of the file
+     * @param size    size of the file
+     * @return the position right after the header line break, or the file size when there is none
+     * @throws IOException if an I/O exception happens
+     */
+    private static long headerEnd(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        boolean blank = true;
+        for (long position = 0; position < size; ) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0)
+                break;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' && !blank)
+                    return position + i + 1;
+                blank &= b == '\n' || b == ' ' || b == '\t' || b == '\r';
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Finds the start of the line after the given position
+     *
+     * @param channel  channel of the file
+     * @param position position where the search starts
+     * @param size     size of the file
+     * @return the position right after the next line break, or the file size when there is none
+     * @throws IOException if an I/O exception happens
+     */
+    private static long nextLine(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0)
+                break;
+            for (int i = 0; i < read; i++)
+                if (buffer.get(i) == '\n')
+                    return position + i + 1;
+            position += read;
+        }
+        return size;
+    }
+}
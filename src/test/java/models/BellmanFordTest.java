@@ -0,0 +1,70 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BellmanFordTest {
+    @Test
+    void run() {
+        DirectedGraph graph = new DirectedGraph(4);
+        graph.addEdgeFromString("1;2;4;1");
+        graph.addEdgeFromString("1;3;5;1");
+        graph.addEdgeFromString("3;2;-3;1");
+        graph.addEdgeFromString("2;4;2;1");
+        BellmanFord bellmanFord = graph.getBellmanFord();
+
+        assertTrue(bellmanFord.run(0), "should not find a negative cycle");
+        assertEquals(2, bellmanFord.getDistance(1), "should follow the negative edge");
+        assertArrayEquals(new int[]{0, 2, 1, 3}, bellmanFord.getPath(3), "should rebuild the path");
+        assertTrue(bellmanFord.runParallel(0, 3), "should not find a negative cycle in parallel");
+        assertEquals(4, bellmanFord.getDistance(3), "should find the same distance in parallel");
+        assertArrayEquals(new int[]{0, 2, 1, 3}, bellmanFord.getPath(3), "should rebuild the path in parallel");
+    }
+
+    @Test
+    void getNegativeCycle() {
+        DirectedGraph graph = new DirectedGraph(5);
+        graph.addEdgeFromString("1;2;1;1");
+        graph.addEdgeFromString("2;3;2;1");
+        graph.addEdgeFromString("3;4;-1;1");
+        graph.addEdgeFromString("4;2;-2;1");
+        graph.addEdgeFromString("4;5;1;1");
+
+        List<Vertice> cycle = graph.getNegativeCycle();
+
+        assertEquals(3, cycle.size(), "should find the cycle");
+        assertTrue(cycle.containsAll(Arrays.asList(new Vertice(2), new Vertice(3), new Vertice(4))), "should only hold the cycle");
+        BellmanFord bellmanFord = graph.getBellmanFord();
+        assertFalse(bellmanFord.runParallel(0, 2), "should detect the cycle in parallel");
+        assertEquals(3, bellmanFord.getNegativeCycle().length, "should extract the cycle after the parallel search");
+    }
+
+    @Test
+    void runParallel() {
+        int n = 5_000, edgesNumber = 5 * n;
+        int[] sources = new int[edgesNumber], destinations = new int[edgesNumber], weights = new int[edgesNumber];
+        Random random = new Random(4);
+        int[] potential = new int[n];
+        for (int v = 0; v < n; v++)
+            potential[v] = random.nextInt(1000);
+        for (int e = 0; e < edgesNumber; e++) {
+            sources[e] = random.nextInt(n);
+            destinations[e] = random.nextInt(n);
+            // reweighting non-negative weights with potentials gives negative arcs but no negative cycle
+            weights[e] = random.nextInt(100) + potential[sources[e]] - potential[destinations[e]];
+        }
+        CompressedSparseRow adjacency = new CompressedSparseRow(n, sources, destinations, weights, edgesNumber, true);
+        BellmanFord sequential = new BellmanFord(adjacency);
+        BellmanFord parallel = new BellmanFord(adjacency);
+
+        assertTrue(sequential.run(0), "should not find a negative cycle");
+        assertTrue(parallel.runParallel(0, 4), "should not find a negative cycle in parallel");
+        for (int v = 0; v < n; v++)
+            assertEquals(sequential.getDistance(v), parallel.getDistance(v), "should find the same distances");
+    }
+}
@@ -0,0 +1,65 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitsetAdjacencyTest {
+    @Test
+    void complement() {
+        int n = 130, edgesNumber = 2_000;
+        int[] sources = new int[edgesNumber], destinations = new int[edgesNumber];
+        Random random = new Random(5);
+        for (int e = 0; e < edgesNumber; e++) {
+            sources[e] = random.nextInt(n);
+            destinations[e] = random.nextInt(n);
+        }
+        CompressedSparseRow adjacency = new CompressedSparseRow(n, sources, destinations, new int[edgesNumber],
+                edgesNumber, false);
+        BitsetAdjacency matrix = BitsetAdjacency.of(adjacency);
+        BitsetAdjacency complement = matrix.complement();
+
+        for (int u = 0; u < n; u++) {
+            int degree = 0;
+            for (int v = 0; v < n; v++) {
+                assertEquals(adjacency.hasArc(u, v), matrix.hasArc(u, v), "should hold the arcs of the adjacency");
+                assertEquals(u != v && !adjacency.hasArc(u, v), complement.hasArc(u, v),
+                        "should hold every other arc but loops");
+                if (complement.hasArc(u, v))
+                    degree++;
+            }
+            assertEquals(degree, complement.degree(u), "should count the arcs of the complement");
+        }
+        assertTrue(complement.complement().hasArc(sources[0], destinations[0]), "should go back to the graph");
+    }
+
+    @Test
+    void nextNeighbour() {
+        int n = 200;
+        CompressedSparseRow adjacency = new CompressedSparseRow(n, new int[]{0, 0}, new int[]{1, 150},
+                new int[2], 2, false);
+        BitsetAdjacency matrix = BitsetAdjacency.of(adjacency);
+
+        assertEquals(1, matrix.nextNeighbour(0, 0), "should find the first neighbour");
+        assertEquals(150, matrix.nextNeighbour(0, 2), "should find a neighbour a few words further");
+        assertEquals(-1, matrix.nextNeighbour(0, 151), "should return there is no neighbour left");
+        assertEquals(2, matrix.complement().nextNeighbour(0, 0), "should skip the loop and the arcs in the complement");
+        assertEquals(151, matrix.complement().nextNeighbour(0, 150), "should skip the arcs in the complement");
+        assertEquals(-1, matrix.complement().nextNeighbour(199, 199), "should skip the loop at the last vertice");
+    }
+
+    @Test
+    void maxVertices() {
+        long n = BitsetAdjacency.MAX_VERTICES;
+        assertTrue(n * ((n + 63) / 64) <= Integer.MAX_VALUE - 8, "should fit the biggest matrix in an array");
+        assertTrue((n + 1) * ((n + 64) / 64) > Integer.MAX_VALUE - 8, "should not be lower than needed");
+
+        CompressedSparseRow adjacency = new CompressedSparseRow(BitsetAdjacency.MAX_VERTICES + 1, new int[0],
+                new int[0], new int[0], 0, false);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BitsetAdjacency.of(adjacency),
+                "should refuse graphs too big for the matrix");
+        assertTrue(e.getMessage().contains("370703"), "should state the limit");
+    }
+}
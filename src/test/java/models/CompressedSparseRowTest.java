@@ -0,0 +1,41 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedSparseRowTest {
+    @Test
+    void nonDirected() {
+        CompressedSparseRow adjacency = new CompressedSparseRow(3,
+                new int[]{0, 0, 1}, new int[]{1, 2, 1}, new int[]{4, 7, 2}, 3, false);
+
+        assertEquals(2, adjacency.degree(0), "should store both edges leaving vertice 0");
+        assertEquals(2, adjacency.degree(1), "should store the loop only once");
+        assertTrue(adjacency.hasArc(2, 0), "should store the reverse arc");
+        assertFalse(adjacency.hasArc(1, 2), "should return vertices are not adjacent");
+        assertEquals(7, adjacency.toMatrix()[2][0], "should keep the edge weight");
+    }
+
+    @Test
+    void directed() {
+        CompressedSparseRow adjacency = new CompressedSparseRow(3,
+                new int[]{0, 0, 2}, new int[]{1, 2, 0}, new int[]{4, 7, 2}, 3, true);
+
+        assertEquals(2, adjacency.degree(0), "should have two arcs leaving vertice 0");
+        assertEquals(1, adjacency.entryDegree(0), "should have one arc entering vertice 0");
+        assertFalse(adjacency.hasArc(1, 0), "should not store the reverse arc");
+    }
+
+    @Test
+    void transpose() {
+        CompressedSparseRow adjacency = new CompressedSparseRow(3, new int[]{0, 0, 2}, new int[]{1, 2, 1},
+                new int[]{4, 5, 6}, 3, true);
+
+        CompressedSparseRow transposed = adjacency.transpose();
+
+        assertArrayEquals(new int[]{0, 0, 2, 3}, transposed.offsets, "should count the arcs reaching each vertice");
+        assertArrayEquals(new int[]{0, 2, 0}, transposed.targets, "should reverse every arc");
+        assertArrayEquals(new int[]{0, 2, 1}, transposed.edgeIds, "should keep the edge ids");
+    }
+}
@@ -0,0 +1,36 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectedComponentsTest {
+    @Test
+    void components() {
+        int n = 100_000, edgesNumber = n;
+        int[] sources = new int[edgesNumber], destinations = new int[edgesNumber];
+        Random random = new Random(2);
+        for (int e = 0; e < edgesNumber; e++) {
+            // random edges inside blocks of 1000 vertices, so the components never cross blocks
+            int block = random.nextInt(n / 1000) * 1000;
+            sources[e] = block + random.nextInt(1000);
+            destinations[e] = block + random.nextInt(1000);
+        }
+        CompressedSparseRow adjacency = new CompressedSparseRow(n, sources, destinations, new int[edgesNumber],
+                edgesNumber, false);
+
+        ConnectedComponents components = new ConnectedComponents(adjacency, 4);
+        MinimumSpanningTree forest = MinimumSpanningTree.kruskal(n, sources, destinations, new int[edgesNumber],
+                edgesNumber);
+
+        assertEquals(forest.getTreesNumber(), components.getComponentsNumber(), "should find every component");
+        for (int v = 0; v < n; v++)
+            assertEquals(forest.getComponent(v), components.getComponent(v), "should number components by their smallest vertice");
+        int total = 0;
+        for (int size : components.getComponentSizes())
+            total += size;
+        assertEquals(n, total, "should count every vertice once");
+    }
+}
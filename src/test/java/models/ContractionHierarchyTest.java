@@ -0,0 +1,126 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractionHierarchyTest {
+    // random road-like graph: a grid with a few arcs removed and some diagonals
+    private static CompressedSparseRow roads(int side, boolean directed) {
+        int n = side * side, edgesNumber = 0;
+        int[] sources = new int[3 * n], destinations = new int[3 * n], weights = new int[3 * n];
+        Random random = new Random(11);
+        for (int v = 0; v < n; v++) {
+            int[] neighbours = {v % side != side - 1 ? v + 1 : -1, v + side < n ? v + side : -1,
+                    v % side != side - 1 && v + side < n ? v + side + 1 : -1};
+            for (int w : neighbours) {
+                if (w == -1 || random.nextInt(10) == 0)
+                    continue;
+                boolean reversed = directed && random.nextBoolean();
+                sources[edgesNumber] = reversed ? w : v;
+                destinations[edgesNumber] = reversed ? v : w;
+                weights[edgesNumber++] = random.nextInt(20);
+            }
+        }
+        return new CompressedSparseRow(n, sources, destinations, weights, edgesNumber, directed);
+    }
+
+    private static long length(CompressedSparseRow adjacency, int[] path) {
+        long length = 0;
+        for (int i = 1; i < path.length; i++) {
+            long best = Long.MAX_VALUE;
+            for (int arc = adjacency.offsets[path[i - 1]]; arc < adjacency.offsets[path[i - 1] + 1]; arc++)
+                if (adjacency.targets[arc] == path[i])
+                    best = Math.min(best, adjacency.weights[arc]);
+            assertNotEquals(Long.MAX_VALUE, best, "should only walk original arcs");
+            length += best;
+        }
+        return length;
+    }
+
+    @Test
+    void query() {
+        for (boolean directed : new boolean[]{false, true}) {
+            CompressedSparseRow adjacency = roads(30, directed);
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(adjacency);
+            Dijkstra dijkstra = new Dijkstra(adjacency);
+            Random random = new Random(5);
+
+            for (int i = 0; i < 200; i++) {
+                int source = random.nextInt(900), target = random.nextInt(900);
+                long expected = dijkstra.run(source, target);
+                PathResult result = hierarchy.query(source, target);
+
+                assertEquals(expected, result.getDistance(), "should find the shortest distance");
+                assertEquals(expected, hierarchy.getDistance(source, target), "should agree without unpacking");
+                if (result.isReachable()) {
+                    assertEquals(source, result.getPath()[0], "should start at the source");
+                    assertEquals(target, result.getPath()[result.getPath().length - 1], "should end at the target");
+                    assertEquals(expected, length(adjacency, result.getPath()), "should unpack every shortcut");
+                }
+            }
+        }
+    }
+
+    @Test
+    void saveAndLoad(@TempDir Path directory) throws IOException {
+        CompressedSparseRow adjacency = roads(20, true);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(adjacency);
+        Path file = directory.resolve("roads.ch");
+
+        hierarchy.save(file, true);
+        ContractionHierarchy loaded = ContractionHierarchy.load(file);
+
+        assertEquals(hierarchy.getShortcutsNumber(), loaded.getShortcutsNumber(), "should keep every shortcut");
+        assertEquals(hierarchy.getRank(42), loaded.getRank(42), "should keep the contraction order");
+        assertArrayEquals(hierarchy.query(3, 377).getPath(), loaded.query(3, 377).getPath(), "should answer the same");
+        assertThrows(IOException.class, () -> GraphSnapshot.loadGraph(file), "should not be read as a graph snapshot");
+    }
+
+    @Test
+    void largeWeights() {
+        // every vertice of a directed cycle needs a shortcut, which would wrap around in an int
+        int big = 1_500_000_000;
+        CompressedSparseRow cycle = new CompressedSparseRow(4, new int[]{0, 1, 2, 3}, new int[]{1, 2, 3, 0},
+                new int[]{big, big, big, big}, 4, true);
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.build(cycle),
+                "should refuse shortcuts heavier than an int");
+
+        CompressedSparseRow lighter = new CompressedSparseRow(4, new int[]{0, 1, 2, 3}, new int[]{1, 2, 3, 0},
+                new int[]{big / 2, big / 2, big / 2, big / 2}, 4, true);
+        assertEquals(3L * (big / 2), ContractionHierarchy.build(lighter).getDistance(0, 3),
+                "should add distances past the int range as longs");
+    }
+
+    @Test
+    void corruptedFile(@TempDir Path directory) throws IOException {
+        CompressedSparseRow cycle = new CompressedSparseRow(4, new int[]{0, 1, 2, 3}, new int[]{1, 2, 3, 0},
+                new int[]{1, 2, 3, 4}, 4, true);
+        Path file = directory.resolve("cycle.ch");
+        ContractionHierarchy.build(cycle).save(file, false);
+        byte[] bytes = Files.readAllBytes(file);
+
+        // the header is 6 ints and the 4 ranks follow it, the last int of the file is the middle of the last arc
+        assertCorrupted(directory, bytes, 3, -4, "should refuse a negative vertices number");
+        assertCorrupted(directory, bytes, 6, 4, "should refuse a rank out of bounds");
+        assertCorrupted(directory, bytes, 7, ByteBuffer.wrap(bytes).getInt(6 * Integer.BYTES),
+                "should refuse a rank given twice");
+        assertCorrupted(directory, bytes, 10, 1, "should refuse offsets that do not cover the arcs");
+        assertCorrupted(directory, bytes, bytes.length / Integer.BYTES - 1, 9, "should refuse a middle out of bounds");
+    }
+
+    private static void assertCorrupted(Path directory, byte[] bytes, int index, int value, String message)
+            throws IOException {
+        Path file = directory.resolve("corrupted.ch");
+        Files.write(file, ByteBuffer.wrap(bytes.clone()).putInt(index * Integer.BYTES, value).array());
+        IOException e = assertThrows(IOException.class, () -> ContractionHierarchy.load(file), message);
+        assertTrue(e.getMessage().contains("corrupted"), message);
+    }
+}
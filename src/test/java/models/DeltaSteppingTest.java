@@ -0,0 +1,50 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaSteppingTest {
+    @Test
+    void run() {
+        int n = 20_000, edgesNumber = 5 * n;
+        int[] sources = new int[edgesNumber], destinations = new int[edgesNumber], weights = new int[edgesNumber];
+        Random random = new Random(9);
+        for (int e = 0; e < edgesNumber; e++) {
+            sources[e] = random.nextInt(n);
+            destinations[e] = random.nextInt(n);
+            weights[e] = random.nextInt(1000);
+        }
+        CompressedSparseRow adjacency = new CompressedSparseRow(n, sources, destinations, weights, edgesNumber, true);
+        Dijkstra dijkstra = new Dijkstra(adjacency);
+        dijkstra.run(0);
+
+        for (int delta : new int[]{1, 50, 5000}) {
+            try (DeltaStepping deltaStepping = new DeltaStepping(adjacency, delta, 4)) {
+                for (int repeat = 0; repeat < 2; repeat++) {
+                    deltaStepping.run(0);
+                    for (int v = 0; v < n; v++)
+                        assertEquals(dijkstra.getDistance(v), deltaStepping.getDistance(v),
+                                "should find the same distance as Dijkstra with delta " + delta);
+                }
+            }
+        }
+    }
+
+    @Test
+    void getParallelShortestPaths() {
+        Graph graph = new Graph(4);
+        graph.addEdgeFromString("1;2;3");
+        graph.addEdgeFromString("2;3;0");
+        graph.addEdgeFromString("1;3;5");
+
+        try (DeltaStepping deltaStepping = graph.getParallelShortestPaths(2)) {
+            deltaStepping.run(2);
+
+            assertEquals(3, deltaStepping.getDistance(0), "should walk the edges both ways");
+            assertEquals(0, deltaStepping.getDistance(1), "should accept zero weight edges");
+        }
+    }
+}
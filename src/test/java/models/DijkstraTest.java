@@ -0,0 +1,52 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DijkstraTest {
+    @Test
+    void run() {
+        DirectedGraph graph = new DirectedGraph(5);
+        graph.addEdgeFromString("1;2;7;1");
+        graph.addEdgeFromString("1;3;2;1");
+        graph.addEdgeFromString("3;2;3;1");
+        graph.addEdgeFromString("2;4;1;1");
+        graph.addEdgeFromString("4;5;0;1");
+        Dijkstra dijkstra = graph.getShortestPaths();
+
+        dijkstra.run(0);
+
+        assertEquals(5, dijkstra.getDistance(1), "should go around the heavy edge");
+        assertEquals(6, dijkstra.getDistance(4), "should accept zero weight edges");
+        assertArrayEquals(new int[]{0, 2, 1, 3, 4}, dijkstra.getPath(4), "should rebuild the path from the source");
+
+        assertEquals(1, dijkstra.run(1, 3), "should stop at the target");
+        assertEquals(Dijkstra.UNREACHABLE, dijkstra.getDistance(0), "should forget the previous query");
+        assertEquals(0, dijkstra.getPath(2).length, "should not follow arcs backwards");
+    }
+
+    @Test
+    void getShortestPath() {
+        Graph graph = new Graph(4);
+        graph.addEdgeFromString("1;2;4");
+        graph.addEdgeFromString("2;3;4");
+        graph.addEdgeFromString("1;3;10");
+
+        List<Vertice> path = graph.getShortestPath(new Vertice(3), new Vertice(1));
+
+        assertEquals(Arrays.asList(new Vertice(3), new Vertice(2), new Vertice(1)), path, "should walk the edges both ways");
+        assertTrue(graph.getShortestPath(new Vertice(1), new Vertice(4)).isEmpty(), "should return no path to a missing vertice");
+    }
+
+    @Test
+    void negativeWeights() {
+        Graph graph = new Graph(2);
+        graph.addEdgeFromString("1;2;-1");
+
+        assertThrows(IllegalArgumentException.class, graph::getShortestPaths, "should refuse negative weights");
+    }
+}
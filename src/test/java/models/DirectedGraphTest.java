@@ -50,6 +50,32 @@ class DirectedGraphTest {
         assertEquals(-1, this.graph.getExitDegree(new Vertice(5)), "should return vertice is not part of graph");
     }
 
+    @Test
+    void isAdjacent() {
+        this.graph.addEdgeFromString("1;2;0;1");
+        assertTrue(this.graph.isAdjacent(new Vertice(1), new Vertice(2)), "should return that v1 goes to v2");
+        assertFalse(this.graph.isAdjacent(new Vertice(2), new Vertice(1)), "should return that v2 does not go to v1");
+
+        this.graph.addEdgeFromString("1;2;0;-1");
+        assertTrue(this.graph.isAdjacent(new Vertice(2), new Vertice(1)), "should see edges added after the first query");
+    }
+
+    @Test
+    void isSimple() {
+        this.graph.addEdgeFromString("1;2;0;1");
+        this.graph.addEdgeFromString("1;2;3;-1");
+        assertTrue(this.graph.isSimple(), "should return that edges in opposite directions are not parallel");
+
+        this.graph.addEdgeFromString("2;1;5;1");
+        assertTrue(this.graph.hasParallelEdges(), "should return that graph has parallel edges");
+        assertFalse(this.graph.isSimple(), "should return that graph is not simple because it has parallel edges");
+
+        DirectedGraph graph = new DirectedGraph(1);
+        graph.addEdgeFromString("1;1;0;1");
+        assertTrue(graph.hasLoops(), "should return that graph has a loop");
+        assertFalse(graph.isSimple(), "should return that graph is not simple because it has a loop");
+    }
+
     @Test
     void hasCycle(){
         DirectedGraph graph = new DirectedGraph(3);
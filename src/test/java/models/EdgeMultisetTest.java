@@ -0,0 +1,32 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeMultisetTest {
+    @Test
+    void add() {
+        EdgeMultiset multiset = new EdgeMultiset();
+
+        assertEquals(1, multiset.add(Edge.key(1, 2)), "should count the first edge");
+        assertEquals(2, multiset.add(Edge.key(2, 1)), "should count a parallel edge with inverted vertices");
+        assertEquals(1, multiset.add(Edge.pack(2, 1)), "should tell directed keys apart");
+        assertEquals(2, multiset.size(), "should count distinct keys");
+    }
+
+    @Test
+    void count() {
+        EdgeMultiset multiset = new EdgeMultiset();
+        for (int id = 1; id <= 10_000; id++) {
+            multiset.add(Edge.key(id, id + 1));
+            multiset.add(Edge.key(id, -id));
+        }
+        multiset.add(Edge.key(5_001, 5_000));
+
+        assertEquals(20_000, multiset.size(), "should grow past its initial capacity");
+        assertEquals(2, multiset.count(Edge.key(5_000, 5_001)), "should count edges with the same key");
+        assertEquals(1, multiset.count(Edge.key(-7, 7)), "should find keys with negative ids");
+        assertFalse(multiset.contains(Edge.key(1, 3)), "should return the key is not there");
+    }
+}
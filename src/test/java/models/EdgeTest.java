@@ -2,8 +2,14 @@ package models;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class EdgeTest {
     @Test
@@ -11,5 +17,47 @@ class EdgeTest {
         assertEquals(new Edge(0, 1, 2), new Edge(0, 1, 2), "should say edges are the same");
         assertEquals(new Edge(0, 1, 2), new Edge(0, 2, 1), "should say edges are the same with inverted vertices");
         assertNotEquals(new Edge(0, 3, 2), new Edge(0, 2, 1), "should say edges are not the same");
+        assertNotEquals(new Edge(0, 1, 2), new Edge(1, 1, 2), "should say edges with other weights are not the same");
+        assertTrue(new Edge(0, 1, 2).equalsIgnoreWeight(new Edge(5, 2, 1)), "should ignore the weight");
+    }
+
+    @Test
+    void testHashCode() {
+        assertEquals(new Edge(3, 1, 2).hashCode(), new Edge(3, 2, 1).hashCode(), "should hash inverted edges the same");
+        assertEquals(Edge.key(1, 2), Edge.key(2, 1), "should give a canonical key");
+        assertEquals(Edge.key(-1, 2), new Edge(0, 2, -1).key, "should order negative ids too");
+    }
+
+    @Test
+    void testDirectedEquals() {
+        assertEquals(new DirectedEdge(0, 1, 2), new DirectedEdge("1;2;0;1"), "should say directed edges are the same");
+        assertEquals(new DirectedEdge(0, 2, 1), new DirectedEdge("1;2;0;0"), "should read the direction from the file");
+        assertNotEquals(new DirectedEdge(0, 1, 2), new DirectedEdge(0, 2, 1), "should tell both directions apart");
+        assertNotEquals(new DirectedEdge(0, 1, 2).key, new DirectedEdge(0, 2, 1).key, "should give ordered keys");
+        assertNotEquals(new Edge(0, 1, 2), new DirectedEdge(0, 1, 2), "should not mix directed and non-directed edges");
+    }
+
+    @Test
+    void testConcurrentEquals() throws Exception {
+        Edge edge = new Edge(0, 1, 2);
+        List<Vertice> vertices = new ArrayList<>(edge.vertices);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Boolean>> comparisons = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                comparisons.add(() -> {
+                    boolean equal = true;
+                    for (int j = 0; j < 10_000; j++)
+                        equal &= edge.equals(new Edge(0, 2, 1)) && edge.equalsIgnoreWeight(new Edge(1, 1, 2));
+                    return equal;
+                });
+            for (Future<Boolean> comparison : executor.invokeAll(comparisons))
+                assertTrue(comparison.get(), "should compare the same edge from several threads");
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(vertices, edge.vertices, "should not reorder the vertices");
+        assertThrows(UnsupportedOperationException.class, () -> edge.vertices.add(new Vertice(3)),
+                "should not let the vertices change");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphSnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void saveAndLoadGraph() throws IOException {
+        Graph graph = new Graph(5);
+        graph.addEdgeFromString("3;1;4");
+        graph.addEdgeFromString("1;2;7");
+        graph.addEdgeFromString("2;2;10");
+        graph.finalVertice();
+        graph.save(dir.resolve("graph.bin"), true);
+
+        Graph loaded = Graph.load(dir.resolve("graph.bin"));
+
+        assertEquals(graph, loaded, "should load the same graph");
+        assertArrayEquals(graph.getAdjacency().offsets, loaded.getAdjacency().offsets, "should load the adjacency");
+        assertArrayEquals(graph.getAdjacency().targets, loaded.getAdjacency().targets, "should load the adjacency");
+        assertEquals(2, loaded.getDegree(new Vertice(1)), "should answer queries from the loaded adjacency");
+    }
+
+    @Test
+    void saveAndLoadDirectedGraph() throws IOException {
+        DirectedGraph graph = new DirectedGraph(3);
+        graph.addEdgeFromString("1;2;4;1");
+        graph.addEdgeFromString("1;3;7;-1");
+        graph.save(dir.resolve("directed.bin"), false);
+
+        DirectedGraph loaded = DirectedGraph.load(dir.resolve("directed.bin"));
+
+        assertEquals(graph, loaded, "should load the same graph");
+        assertEquals(1, loaded.getEntryDegree(new Vertice(1)), "should keep the edge direction");
+        assertThrows(IOException.class, () -> Graph.load(dir.resolve("directed.bin")),
+                "should refuse to load a directed snapshot as a non-directed graph");
+    }
+
+    @Test
+    void corruptedSnapshot() throws IOException {
+        Graph graph = new Graph(2);
+        graph.addEdgeFromString("1;2;4");
+        Path path = dir.resolve("corrupted.bin");
+        graph.save(path, true);
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 12] ^= 1;
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> Graph.load(path), "should detect the checksum mismatch");
+    }
+
+    @Test
+    void loadEdgesOnDemand() throws IOException {
+        Graph graph = new Graph(4);
+        graph.addEdgeFromString("1;2;4");
+        graph.addEdgeFromString("2;3;7");
+        graph.addEdgeFromString("3;3;1");
+        graph.save(dir.resolve("lazy.bin"), false);
+
+        Graph loaded = Graph.load(dir.resolve("lazy.bin"));
+
+        assertEquals(2, loaded.getDegree(new Vertice(3)), "should use the stored degrees");
+        assertEquals(graph.oddDegrees, loaded.oddDegrees, "should count the odd degrees");
+
+        graph.addEdgeFromString("4;1;2");
+        loaded.addEdgeFromString("4;1;2");
+        loaded.finalVertice();
+        assertTrue(loaded.isAdjacent(new Vertice(3), new Vertice(2)), "should find the loaded edges");
+        assertTrue(loaded.hasLoops(), "should find the loaded loop");
+        assertEquals(1, loaded.getAdjacency().degree(3), "should rebuild the adjacency with the added edge");
+        assertNull(loaded.edges.created, "should answer queries without creating the loaded edge objects");
+
+        assertEquals(graph, loaded, "should add edges after the loaded ones");
+        assertEquals(graph.getDegree(new Vertice(4)), loaded.getDegree(new Vertice(4)), "should keep degrees up to date");
+        assertSame(loaded.edges.get(1), loaded.edges.get(1), "should create each loaded edge object once");
+    }
+
+    @Test
+    void outOfBoundsSnapshot() throws IOException {
+        DirectedGraph graph = new DirectedGraph(3);
+        graph.addEdgeFromString("1;2;4;1");
+        graph.addEdgeFromString("2;3;7;1");
+        Path path = dir.resolve("bounds.bin");
+        graph.save(path, false);
+
+        // the last int of the file is the edge id of the last arc
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] = 9;
+        Files.write(path, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> DirectedGraph.load(path),
+                "should refuse indexes out of bounds even without checksum");
+        assertTrue(e.getMessage().contains("out of bounds"), "should tell what is corrupted");
+    }
+}
@@ -3,6 +3,15 @@ package models;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GraphTest {
@@ -222,6 +231,9 @@ class GraphTest {
 
         assertTrue(this.graph.hasParallelEdges(), "should return that graph has parallel edge(s)");
         assertFalse(this.graph2.hasParallelEdges(), "should return that graph does not have any parallel edge(s)");
+
+        this.graph2.addEdgeFromString("3;1;2");
+        assertTrue(this.graph2.hasParallelEdges(), "should see parallel edges added after the first query");
     }
 
     @Test
@@ -310,6 +322,8 @@ class GraphTest {
 
         assertTrue(this.graph.isConnected(), "should return that graph is connected");
         assertFalse(this.graph2.isConnected(), "should return that graph is not connected");
+        assertTrue(this.graph.isConnected(3), "should return that graph is connected on several threads");
+        assertFalse(this.graph2.isConnected(3), "should return that graph is not connected on several threads");
     }
 
     @Test
@@ -331,4 +345,97 @@ class GraphTest {
 
         assertEquals(2, this.graph.getCutVertices());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getArticulationPoints() {
+        this.graph.setVerticesNumber(5);
+
+        this.graph.addEdgeFromString("1;2;0");
+        this.graph.addEdgeFromString("1;3;0");
+        this.graph.addEdgeFromString("2;3;0");
+        this.graph.addEdgeFromString("3;4;0");
+        this.graph.addEdgeFromString("4;5;0");
+        List<Vertice> vertices = new ArrayList<>(this.graph.vertices);
+
+        assertEquals(List.of(new Vertice(3), new Vertice(4)), this.graph.getArticulationPoints());
+        assertEquals(vertices, this.graph.vertices, "should not change the graph");
+    }
+
+    @Test
+    void getBridges() {
+        this.graph.setVerticesNumber(5);
+
+        this.graph.addEdgeFromString("1;2;0");
+        this.graph.addEdgeFromString("2;3;0");
+        this.graph.addEdgeFromString("3;1;0");
+        this.graph.addEdgeFromString("3;4;1");
+        this.graph.addEdgeFromString("4;5;2");
+        this.graph.addEdgeFromString("4;5;3");
+
+        assertEquals(List.of(new Edge(1, 3, 4)), this.graph.getBridges(), "should ignore edges doubled by parallel ones");
+    }
+
+    @Test
+    void getDegreeAfterInsertingSmallerVertice() {
+        this.graph.addEdgeFromString("5;6;0");
+        this.graph.addEdgeFromString("5;7;0");
+        this.graph.addEdgeFromString("1;6;0");
+        this.graph.addEdgeFromString("3;3;0");
+
+        assertEquals(2, this.graph.getDegree(new Vertice(5)), "should keep degrees when a smaller vertice is inserted");
+        assertEquals(2, this.graph.getDegree(new Vertice(6)), "should keep degrees when a smaller vertice is inserted");
+        assertEquals(1, this.graph.getDegree(new Vertice(1)), "should count the new vertice");
+        assertEquals(1, this.graph.getDegree(new Vertice(3)), "should count a loop once");
+    }
+
+    @Test
+    void concurrentQueries() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                Graph graph = new Graph(200);
+                for (int i = 1; i <= 200; i++)
+                    graph.addEdgeFromString(i + ";" + (i % 200 + 1) + ";" + i);
+                graph.addEdgeFromString("1;2;7");
+
+                // every thread finds the caches empty and races to build them
+                List<Callable<Boolean>> queries = new ArrayList<>();
+                for (int t = 0; t < 4; t++)
+                    queries.add(() -> graph.isAdjacent(new Vertice(200), new Vertice(1)) && graph.hasParallelEdges()
+                            && graph.getDegree(new Vertice(100)) == 2 && graph.getAdjacency().degree(0) == 3);
+                for (Future<Boolean> query : executor.invokeAll(queries))
+                    assertTrue(query.get(), "should answer queries from several threads at once");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shuffledVertices() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i < 1000; i++)
+            ids.add(i);
+        Collections.shuffle(ids, new Random(3));
+
+        Graph shuffled = new Graph(1000);
+        for (int id : ids)
+            shuffled.addEdgeFromString(id + ";" + (id + 1) + ";" + id);
+        Graph ordered = new Graph(1000);
+        for (int i = 1; i < 1000; i++)
+            ordered.addEdgeFromString(i + ";" + (i + 1) + ";" + i);
+
+        assertEquals(1, shuffled.getDegree(new Vertice(1)), "should count the degree of an out of order vertice");
+        assertEquals(2, shuffled.getDegree(new Vertice(500)), "should count the degree of an out of order vertice");
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i + 1, shuffled.vertices.get(i).id, "should sort the vertices once they are needed");
+        assertTrue(shuffled.isConnected(), "should build the adjacency over the sorted vertices");
+        assertTrue(shuffled.isUnicursal(), "should keep the degree parity while sorting");
+        assertEquals(ordered.vertices, shuffled.vertices, "should load the same vertices as in order ids");
+
+        shuffled.addEdgeFromString("1000;0;1");
+        shuffled.addEdgeFromString("0;1;1");
+        assertTrue(shuffled.isRegular(), "should keep every degree through a second sort");
+        assertEquals(0, shuffled.vertices.get(0).id, "should sort vertices added after a query");
+    }
+}
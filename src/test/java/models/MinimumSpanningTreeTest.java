@@ -0,0 +1,140 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinimumSpanningTreeTest {
+    @Test
+    void prim() {
+        Graph graph = new Graph(4);
+        graph.addEdgeFromString("1;2;0");
+        graph.addEdgeFromString("2;3;-4");
+        graph.addEdgeFromString("1;3;-1");
+        graph.addEdgeFromString("3;4;5");
+        graph.addEdgeFromString("1;4;2");
+
+        MinimumSpanningTree tree = graph.getMinimumSpanningTree(0);
+
+        assertArrayEquals(new int[]{-1, 2, 0, 0}, tree.getParent(), "should keep zero and negative weight edges");
+        assertEquals(-3, tree.getTotalWeight(), "should sum the tree edges");
+    }
+
+    @Test
+    void kruskal() {
+        Graph graph = new Graph(4);
+        graph.addEdgeFromString("1;2;10");
+        graph.addEdgeFromString("1;3;6");
+        graph.addEdgeFromString("1;4;5");
+        graph.addEdgeFromString("2;4;15");
+        graph.addEdgeFromString("3;4;4");
+
+        MinimumSpanningTree tree = graph.getMinimumSpanningTree();
+
+        assertArrayEquals(new int[]{4, 5, 10}, tree.getWeights(), "should pick the edges by increasing weight");
+        assertArrayEquals(new int[]{4, 2, 0}, tree.getEdgeIds(), "should point to the graph edges");
+        assertEquals(19, tree.getTotalWeight(), "should sum the tree edges");
+        assertArrayEquals(tree.getEdgeIds(), graph.getParallelMinimumSpanningTree(2).getEdgeIds(),
+                "should build the same tree on several threads");
+        assertArrayEquals(new int[]{-1, 0, 3, 0}, tree.getParent(), "should hang the tree from vertice 0");
+        assertEquals("----- MST KRUSKAL -----\nEdge \tWeight\n2 - 3\t4\n0 - 3\t5\n0 - 1\t10\n-----------------\n",
+                MinimumSpanningTreeFormatter.format(tree), "should only print through the formatter");
+    }
+
+    @Test
+    void disconnected() {
+        Graph graph = new Graph(4);
+        graph.addEdgeFromString("1;2;10");
+        graph.addEdgeFromString("3;4;4");
+
+        assertNull(graph.getMinimumSpanningTree(), "should not build a tree for a disconnected graph");
+    }
+
+    @Test
+    void kruskalForest() {
+        int[] sources = {0, 2, 0, 3};
+        int[] destinations = {1, 3, 1, 4};
+        int[] weights = {3, 1, 2, 1};
+
+        MinimumSpanningTree forest = MinimumSpanningTree.kruskal(6, sources, destinations, weights, 4);
+
+        assertArrayEquals(new int[]{1, 3, 2}, forest.getEdgeIds(), "should keep the edge order on equal weights");
+        assertEquals(4, forest.getTotalWeight(), "should sum the forest edges");
+        assertEquals(3, forest.getTreesNumber(), "should count the isolated vertice as a tree");
+        assertArrayEquals(new int[]{-1, 0, -1, 2, 3, -1}, forest.getParent(), "should root each tree at its smallest vertice");
+    }
+
+    @Test
+    void kruskalParallelSort() {
+        int n = 50_000, edgesNumber = 3 * n;
+        int[] sources = new int[edgesNumber];
+        int[] destinations = new int[edgesNumber];
+        int[] weights = new int[edgesNumber];
+        java.util.Random random = new java.util.Random(42);
+        for (int e = 0; e < edgesNumber; e++) {
+            // the first n - 1 edges chain every vertice so the graph is connected
+            sources[e] = e < n - 1 ? e : random.nextInt(n);
+            destinations[e] = e < n - 1 ? e + 1 : random.nextInt(n);
+            weights[e] = random.nextInt(1000) - 500;
+        }
+
+        MinimumSpanningTree kruskal = MinimumSpanningTree.kruskal(n, sources, destinations, weights, edgesNumber);
+        MinimumSpanningTree prim = MinimumSpanningTree.prim(
+                new CompressedSparseRow(n, sources, destinations, weights, edgesNumber, false), 0);
+
+        assertEquals(n - 1, kruskal.getEdgesNumber(), "should stop once V-1 edges are picked");
+        assertEquals(1, kruskal.getTreesNumber(), "should span the connected graph");
+        assertEquals(prim.getTotalWeight(), kruskal.getTotalWeight(), "should find a tree as light as Prim's");
+    }
+
+    @Test
+    void boruvka() {
+        int n = 50_000, edgesNumber = 3 * n;
+        int[] sources = new int[edgesNumber];
+        int[] destinations = new int[edgesNumber];
+        int[] weights = new int[edgesNumber];
+        java.util.Random random = new java.util.Random(7);
+        for (int e = 0; e < edgesNumber; e++) {
+            sources[e] = random.nextInt(n);
+            destinations[e] = random.nextInt(n);
+            weights[e] = random.nextInt(100); // many ties
+        }
+
+        MinimumSpanningTree kruskal = MinimumSpanningTree.kruskal(n, sources, destinations, weights, edgesNumber);
+        MinimumSpanningTree boruvka = ParallelBoruvka.run(n, sources, destinations, weights, edgesNumber, 4);
+
+        assertEquals(MinimumSpanningTree.Algorithm.BORUVKA, boruvka.getAlgorithm(), "should tell the algorithm");
+        assertArrayEquals(kruskal.getEdgeIds(), boruvka.getEdgeIds(), "should pick the same edges as Kruskal");
+        assertEquals(kruskal.getTreesNumber(), boruvka.getTreesNumber(), "should span every component");
+    }
+
+    @Test
+    void concurrentUnionFind() {
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(4);
+
+        assertTrue(sets.union(3, 1), "should join different sets");
+        assertFalse(sets.union(1, 3), "should refuse vertices of the same set");
+        assertEquals(1, sets.find(3), "should link the bigger root under the smaller");
+        assertFalse(sets.connected(0, 3), "should keep other sets apart");
+    }
+
+    @Test
+    void forest() {
+        Graph graph = new Graph(5);
+        graph.addEdgeFromString("1;2;10");
+        graph.addEdgeFromString("4;5;4");
+        graph.addEdgeFromString("3;5;2");
+        graph.addEdgeFromString("3;4;1");
+
+        MinimumSpanningTree forest = graph.getMinimumSpanningForest();
+
+        assertEquals(2, forest.getTreesNumber(), "should build one tree for each component");
+        assertEquals(1, forest.getComponent(3), "should number the components by their smallest vertice");
+        assertEquals(3, forest.getComponentSize(1), "should count the vertices of each component");
+        assertArrayEquals(new int[]{0, 1}, forest.getComponentEdges(1), "should group the edges of each tree");
+        assertEquals(3, forest.getComponentWeight(1), "should sum the edges of one tree");
+        assertEquals(10, forest.getComponentWeight(0), "should keep each tree apart");
+        assertEquals("----- MST KRUSKAL -----\nEdge \tWeight\n2 - 3\t1\n2 - 4\t2\n0 - 1\t10\nTrees \t2\n-----------------\n",
+                MinimumSpanningTreeFormatter.format(forest), "should tell how many trees were printed");
+    }
+}
@@ -0,0 +1,79 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointToPointSearchTest {
+    private static final int SIDE = 60;
+
+    // grid where each vertice is linked to its right and lower neighbours, weights of at least 10
+    private static CompressedSparseRow grid(boolean directed) {
+        int n = SIDE * SIDE, edgesNumber = 0;
+        int[] sources = new int[2 * n], destinations = new int[2 * n], weights = new int[2 * n];
+        Random random = new Random(3);
+        for (int v = 0; v < n; v++) {
+            if (v % SIDE != SIDE - 1) {
+                sources[edgesNumber] = v;
+                destinations[edgesNumber] = v + 1;
+                weights[edgesNumber++] = 10 + random.nextInt(10);
+            }
+            if (v + SIDE < n) {
+                sources[edgesNumber] = v;
+                destinations[edgesNumber] = v + SIDE;
+                weights[edgesNumber++] = 10 + random.nextInt(10);
+            }
+        }
+        return new CompressedSparseRow(n, sources, destinations, weights, edgesNumber, directed);
+    }
+
+    private static long length(CompressedSparseRow adjacency, int[] path) {
+        long length = 0;
+        for (int i = 1; i < path.length; i++) {
+            long best = Long.MAX_VALUE;
+            for (int arc = adjacency.offsets[path[i - 1]]; arc < adjacency.offsets[path[i - 1] + 1]; arc++)
+                if (adjacency.targets[arc] == path[i])
+                    best = Math.min(best, adjacency.weights[arc]);
+            length += best;
+        }
+        return length;
+    }
+
+    @Test
+    void bidirectional() {
+        CompressedSparseRow adjacency = grid(true);
+        PointToPointSearch search = new PointToPointSearch(adjacency, true);
+        Dijkstra dijkstra = new Dijkstra(adjacency);
+
+        for (int[] query : new int[][]{{0, SIDE * SIDE - 1}, {SIDE + 5, 30 * SIDE + 40}, {7, 7}}) {
+            PathResult plain = search.dijkstra(query[0], query[1]);
+            PathResult bidirectional = search.bidirectional(query[0], query[1]);
+
+            assertEquals(dijkstra.run(query[0], query[1]), bidirectional.getDistance(), "should find the shortest distance");
+            assertEquals(plain.getDistance(), bidirectional.getDistance(), "should agree with the plain search");
+            assertEquals(bidirectional.getDistance(), length(adjacency, bidirectional.getPath()), "should join both halves of the path");
+            assertEquals(query[0], bidirectional.getPath()[0], "should start at the source");
+            assertEquals(query[1], bidirectional.getPath()[bidirectional.getPath().length - 1], "should end at the target");
+        }
+        assertFalse(search.bidirectional(SIDE * SIDE - 1, 0).isReachable(), "should follow the arc directions");
+    }
+
+    @Test
+    void aStar() {
+        CompressedSparseRow adjacency = grid(false);
+        PointToPointSearch search = new PointToPointSearch(adjacency, false);
+        // every step costs at least 10, so ten times the manhattan distance never overestimates
+        PointToPointSearch.Heuristic manhattan = (v, target) ->
+                10L * (Math.abs(v % SIDE - target % SIDE) + Math.abs(v / SIDE - target / SIDE));
+
+        PathResult plain = search.dijkstra(SIDE * 30 + 30, SIDE * 30 + 50);
+        PathResult aStar = search.aStar(SIDE * 30 + 30, SIDE * 30 + 50, manhattan);
+
+        assertEquals(plain.getDistance(), aStar.getDistance(), "should find the shortest distance");
+        assertEquals(aStar.getDistance(), length(adjacency, aStar.getPath()), "should return a path of that length");
+        assertTrue(aStar.getSettledNumber() < plain.getSettledNumber(), "should settle fewer vertices: " + aStar + " " + plain);
+        assertTrue(aStar.getRelaxedNumber() < plain.getRelaxedNumber(), "should relax fewer arcs");
+    }
+}
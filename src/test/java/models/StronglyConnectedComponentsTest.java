@@ -0,0 +1,76 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StronglyConnectedComponentsTest {
+    @Test
+    void components() {
+        DirectedGraph graph = new DirectedGraph(6);
+        graph.addEdgeFromString("1;2;1;1");
+        graph.addEdgeFromString("2;3;1;1");
+        graph.addEdgeFromString("3;1;1;1");
+        graph.addEdgeFromString("3;4;1;1");
+        graph.addEdgeFromString("2;4;1;1");
+        graph.addEdgeFromString("4;5;1;1");
+        graph.addEdgeFromString("5;4;1;1");
+        graph.addEdgeFromString("6;5;1;1");
+
+        StronglyConnectedComponents components = graph.getStronglyConnectedComponents();
+
+        assertEquals(3, components.getComponentsNumber(), "should find every component");
+        assertEquals(components.getComponent(0), components.getComponent(2), "should join the vertices of a cycle");
+        assertEquals(3, components.getComponentSize(components.getComponent(1)), "should count the component vertices");
+        assertTrue(components.getComponent(0) < components.getComponent(3), "should number components in topological order");
+        assertTrue(components.getComponent(5) < components.getComponent(4), "should number components in topological order");
+        CompressedSparseRow condensation = components.getCondensation();
+        assertEquals(2, condensation.getArcsNumber(), "should keep a single arc between two components");
+        assertNotNull(TopologicalSort.sort(condensation), "should condense into an acyclic graph");
+        assertTrue(graph.hasCycle(), "should report the cycle");
+    }
+
+    @Test
+    void selfLoop() {
+        DirectedGraph graph = new DirectedGraph(2);
+        graph.addEdgeFromString("1;2;1;1");
+        assertFalse(graph.hasCycle(), "should have no cycle");
+
+        graph.addEdgeFromString("2;2;1;1");
+        assertTrue(graph.hasCycle(), "should count a loop as a cycle");
+        assertNull(graph.getTopologicalOrder(), "should not sort a graph with a cycle");
+    }
+
+    @Test
+    void getTopologicalOrder() {
+        DirectedGraph graph = new DirectedGraph(4);
+        graph.addEdgeFromString("4;2;1;1");
+        graph.addEdgeFromString("2;1;1;1");
+        graph.addEdgeFromString("4;3;1;1");
+        graph.addEdgeFromString("3;1;1;1");
+
+        assertEquals(Arrays.asList(new Vertice(4), new Vertice(2), new Vertice(3), new Vertice(1)),
+                graph.getTopologicalOrder(), "should put every vertice before the ones it points to");
+    }
+
+    @Test
+    void longChain() {
+        int n = 1_000_000;
+        int[] sources = new int[n], destinations = new int[n], weights = new int[n];
+        for (int v = 0; v < n; v++) {
+            sources[v] = v;
+            destinations[v] = (v + 1) % n;
+        }
+
+        StronglyConnectedComponents cycle = new StronglyConnectedComponents(
+                new CompressedSparseRow(n, sources, destinations, weights, n, true));
+        StronglyConnectedComponents chain = new StronglyConnectedComponents(
+                new CompressedSparseRow(n, sources, destinations, weights, n - 1, true));
+
+        assertEquals(1, cycle.getComponentsNumber(), "should walk a long cycle without overflowing the stack");
+        assertEquals(n, chain.getComponentsNumber(), "should split a long chain into single vertices");
+        assertEquals(n - 1, chain.getComponent(n - 1), "should number the chain in order");
+    }
+}
@@ -0,0 +1,64 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraversalTest {
+    // 0 - 1 - 2 - 3 and 4 - 5
+    private final CompressedSparseRow adjacency = new CompressedSparseRow(6,
+            new int[]{0, 1, 2, 4}, new int[]{1, 2, 3, 5}, new int[]{1, 1, 1, 1}, 4, false);
+
+    @Test
+    void depthFirst() {
+        Traversal traversal = new Traversal(adjacency);
+        List<Integer> finished = new ArrayList<>();
+
+        assertTrue(traversal.depthFirst(0, new Traversal.Visitor() {
+            @Override
+            public boolean finish(int v) {
+                return finished.add(v);
+            }
+        }), "should complete the traversal");
+        assertEquals(List.of(3, 2, 1, 0), finished, "should finish the deepest vertice first");
+        assertFalse(traversal.isVisited(4), "should not reach another component");
+        assertEquals(2, traversal.reachable(4), "should keep previous visits and reach the other component");
+        assertEquals(6, traversal.getVisitedCount(), "should count every visited vertice");
+    }
+
+    @Test
+    void breadthFirst() {
+        Traversal traversal = new Traversal(adjacency);
+        List<Integer> discovered = new ArrayList<>();
+
+        traversal.breadthFirst(2, new Traversal.Visitor() {
+            @Override
+            public boolean discover(int v, int parent) {
+                return discovered.add(v);
+            }
+        });
+        assertEquals(List.of(2, 1, 3, 0), discovered, "should discover vertices by distance");
+
+        traversal.clear();
+        assertFalse(traversal.breadthFirst(0, new Traversal.Visitor() {
+            @Override
+            public boolean discover(int v, int parent) {
+                return v != 1;
+            }
+        }), "should stop when the visitor asks to");
+    }
+
+    @Test
+    void longPath() {
+        int n = 1_000_000;
+        EdgeBuffer edges = new EdgeBuffer(n);
+        for (int i = 1; i < n; i++)
+            edges.add(i, i + 1, 0);
+        Graph graph = new Graph(n, edges);
+
+        assertTrue(graph.isConnected(), "should walk a long path without overflowing the stack");
+    }
+}
@@ -0,0 +1,29 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VertexIndexTest {
+    @Test
+    void add() {
+        VertexIndex index = new VertexIndex();
+
+        assertEquals(0, index.add(42), "should give the first id index 0");
+        assertEquals(1, index.add(-1), "should accept negative ids");
+        assertEquals(0, index.add(42), "should return the existing index for a known id");
+        assertEquals(2, index.size(), "should not register the same id twice");
+    }
+
+    @Test
+    void indexOf() {
+        VertexIndex index = new VertexIndex();
+        for (int id = 1; id <= 10_000; id++)
+            index.add(id * 7);
+
+        assertEquals(10_000, index.size(), "should grow past its initial capacity");
+        assertEquals(4_999, index.indexOf(35_000), "should find the index of an id");
+        assertEquals(35_000, index.idOf(4_999), "should find the id of an index");
+        assertEquals(-1, index.indexOf(3), "should return the id is not registered");
+    }
+}
@@ -0,0 +1,26 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerticeTest {
+    @Test
+    void compareTo() {
+        List<Vertice> vertices = new ArrayList<>(List.of(new Vertice(10), new Vertice(9), new Vertice(100), new Vertice(1)));
+        vertices.sort(Vertice::compareTo);
+
+        assertEquals(List.of(new Vertice(1), new Vertice(9), new Vertice(10), new Vertice(100)), vertices,
+                "should sort vertices by their numeric id");
+    }
+
+    @Test
+    void testEquals() {
+        assertEquals(new Vertice(12), new Vertice(12, "label"), "should only compare ids");
+        assertNotEquals(new Vertice(12), new Vertice(21), "should say vertices are not the same");
+        assertEquals("v12", new Vertice(12).getName(), "should default the label to the id pattern");
+    }
+}
@@ -0,0 +1,83 @@
+package utils;
+
+import models.EdgeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EdgeListParserTest {
+    private static EdgeListParser parse(String text, boolean directed, int pieceSize) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        EdgeListParser parser = new EdgeListParser(new EdgeBuffer(), directed);
+        for (int from = 0; from < bytes.length; from += pieceSize)
+            parser.parse(bytes, from, Math.min(from + pieceSize, bytes.length));
+        parser.finish();
+        return parser;
+    }
+
+    @Test
+    void parseNonDirected() {
+        EdgeListParser parser = parse("3\r\n1;2;4\r\n 1; 3;7;\r\n\r\n2;3;-10", false, 1 << 10);
+        EdgeBuffer edges = parser.getEdges();
+
+        assertEquals(3, parser.getVerticesNumber(), "should read the vertices number from the header");
+        assertEquals(3, edges.size(), "should skip blank lines");
+        assertEquals(3, edges.getDestination(1), "should ignore spaces and trailing semicolons");
+        assertEquals(-10, edges.getWeight(2), "should read the last line without line break");
+    }
+
+    @Test
+    void parseDirected() {
+        EdgeBuffer edges = parse("3\n1;2;4;1\n1;2;11;-1\n", true, 1 << 10).getEdges();
+
+        assertEquals(1, edges.getSource(0), "should keep the order when direction is 1");
+        assertEquals(2, edges.getSource(1), "should swap the vertices when direction is -1");
+        assertEquals(11, edges.getWeight(1), "should keep the weight");
+    }
+
+    @Test
+    void parseSplitInput() {
+        String text = "12\n10;11;400\n11;12;500\n";
+        EdgeBuffer whole = parse(text, false, text.length()).getEdges();
+        EdgeBuffer split = parse(text, false, 3).getEdges();
+
+        for (int e = 0; e < whole.size(); e++) {
+            assertEquals(whole.getSource(e), split.getSource(e), "should carry numbers split between pieces");
+            assertEquals(whole.getWeight(e), split.getWeight(e), "should carry numbers split between pieces");
+        }
+    }
+
+    @Test
+    void rejectMalformedLines() {
+        assertMalformed("3\n1;2;4\n1;2x;3\n", 3, "should reject unexpected characters");
+        assertMalformed("3\n1;2;4-\n", 2, "should reject a sign after the digits");
+        assertMalformed("3\n1;2;--4\n", 2, "should reject a doubled sign");
+        assertMalformed("3\n1;2;-\n", 2, "should reject a sign without digits");
+        assertMalformed("3\n1;2;4\n\n1;2\n", 4, "should reject lines with fewer than 3 fields");
+        assertMalformed("3\n1;;2;4\n", 2, "should reject empty fields");
+        assertMalformed("3\n1;2;1 0\n", 2, "should reject spaces inside a number");
+        assertMalformed("3\n1;2;9999999999\n", 2, "should reject numbers past the int range");
+        assertMalformed("3\n1;2;2147483648\n", 2, "should reject numbers past the int range");
+        assertMalformed("3;4\n1;2;4\n", 1, "should reject a header with more than the vertices number");
+        assertMalformed("3\n1;2\u00e94\n", 2, "should reject non-ASCII bytes");
+    }
+
+    @Test
+    void parseIntBounds() {
+        EdgeBuffer edges = parse("3\n1;2;-2147483648\n1;2;+2147483647\n", false, 4).getEdges();
+
+        assertEquals(Integer.MIN_VALUE, edges.getWeight(0), "should read the smallest int");
+        assertEquals(Integer.MAX_VALUE, edges.getWeight(1), "should read the biggest int");
+    }
+
+    private static void assertMalformed(String text, long line, String message) {
+        for (int pieceSize : new int[]{1, 1 << 10}) {
+            EdgeListFormatException e = assertThrows(EdgeListFormatException.class,
+                    () -> parse(text, false, pieceSize), message);
+            assertEquals(line, e.getLine(), "should name the line at fault");
+        }
+    }
+}
@@ -4,9 +4,16 @@ import models.DirectedGraph;
 import models.Graph;
 import org.junit.jupiter.api.Test;
 
+import models.EdgeBuffer;
+import org.junit.jupiter.api.io.TempDir;
+
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FileManagerTest {
     FileManager fileManager;
@@ -44,4 +51,89 @@ class FileManagerTest {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseMapped(@TempDir Path dir) throws IOException {
+        StringBuilder text = new StringBuilder("1000\n");
+        for (int i = 0; i < 200_000; i++)
+            text.append(i % 1000 + 1).append(';').append((i * 7) % 1000 + 1).append(';').append(i - 100).append(";-1\n");
+        Path path = dir.resolve("large.txt");
+        Files.writeString(path, text);
+        fileManager = new FileManager(path.toFile());
+
+        EdgeListParser streamed = new EdgeListParser(new EdgeBuffer(), true);
+        fileManager.parseStream(streamed);
+        EdgeListParser mapped = new EdgeListParser(new EdgeBuffer(), true);
+        fileManager.parseMapped(mapped);
+
+        assertEquals(200_000, mapped.getEdges().size(), "should read every edge");
+        for (int e = 0; e < streamed.getEdges().size(); e++) {
+            assertEquals(streamed.getEdges().getSource(e), mapped.getEdges().getSource(e), "should read the same edges");
+            assertEquals(streamed.getEdges().getWeight(e), mapped.getEdges().getWeight(e), "should read the same edges");
+        }
+    }
+
+    @Test
+    void readParallel(@TempDir Path dir) throws IOException {
+        StringBuilder text = new StringBuilder("500\n");
+        for (int i = 0; i < 10_000; i++)
+            text.append(i % 500 + 1).append(';').append((i * 13) % 500 + 1).append(';').append(i).append('\n');
+        Path path = dir.resolve("chunks.txt");
+        Files.writeString(path, text);
+        fileManager = new FileManager(path.toFile());
+
+        assertEquals(fileManager.readNonDirectedGraphFile(1), fileManager.readNonDirectedGraphFile(7),
+                "should build the same graph when the file is split in chunks");
+        assertEquals(fileManager.readDirectedGraphFile(1), fileManager.readDirectedGraphFile(3),
+                "should build the same graph when the file is split in chunks");
+    }
+
+    @Test
+    void readMalformedFile(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("malformed.txt");
+        Files.writeString(path, "3\n1;2;4\n1;3;7x\n");
+        fileManager = new FileManager(path.toFile());
+
+        IOException e = assertThrows(IOException.class, () -> fileManager.readNonDirectedGraphFile(1),
+                "should refuse a malformed file");
+        assertTrue(e.getMessage().contains("Line 3"), "should name the line at fault");
+    }
+
+    @Test
+    void readParallelLeadingBlankLines(@TempDir Path dir) throws IOException {
+        StringBuilder text = new StringBuilder("\n  \r\n\t\n 50 \n");
+        for (int i = 0; i < 2_000; i++)
+            text.append(i % 50 + 1).append(';').append((i * 7) % 50 + 1).append(';').append(i).append('\n');
+        Path path = dir.resolve("blank.txt");
+        Files.writeString(path, text);
+        fileManager = new FileManager(path.toFile());
+
+        assertEquals(fileManager.readNonDirectedGraphFile(1), fileManager.readNonDirectedGraphFile(4),
+                "should skip the blank lines before the header in both paths");
+    }
+
+    @Test
+    void readParallelMalformedFile(@TempDir Path dir) throws IOException {
+        StringBuilder text = new StringBuilder("\n50\n");
+        for (int i = 0; i < 2_000; i++)
+            text.append(i % 50 + 1).append(';').append((i * 7) % 50 + 1).append(';').append(i == 1_500 ? "x" : i).append('\n');
+        Path path = dir.resolve("malformed.txt");
+        Files.writeString(path, text);
+        fileManager = new FileManager(path.toFile());
+
+        for (int parallelism : new int[]{1, 4}) {
+            IOException e = assertThrows(IOException.class, () -> fileManager.readNonDirectedGraphFile(parallelism),
+                    "should refuse a malformed file");
+            assertTrue(e.getMessage().contains("Line 1503:"), "should name the line in the file, not in the chunk");
+        }
+    }
+
+    @Test
+    void convertToSnapshot(@TempDir Path dir) throws IOException {
+        fileManager = new FileManager("directedGraph.txt");
+        fileManager.convertToSnapshot(dir.resolve("directedGraph.bin"), true);
+
+        assertEquals(fileManager.readDirectedGraphFile(), DirectedGraph.load(dir.resolve("directedGraph.bin")),
+                "should load the same graph from the snapshot");
+    }
+}